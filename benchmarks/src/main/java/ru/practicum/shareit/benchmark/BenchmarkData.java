@@ -0,0 +1,139 @@
+package ru.practicum.shareit.benchmark;
+
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemBookingView;
+import ru.practicum.shareit.item.dto.ItemCommentView;
+import ru.practicum.shareit.item.dto.ItemShort;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.User;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkData {
+    static final int COMMENTS_PER_ITEM = 3;
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    final User owner = new User(1L, "owner", "owner@shareit.local");
+    final User booker = new User(2L, "booker", "booker@shareit.local");
+    final List<ItemRequest> requests = new ArrayList<>();
+    final List<Item> items = new ArrayList<>();
+    final List<Booking> lastBookings = new ArrayList<>();
+    final List<Booking> nextBookings = new ArrayList<>();
+    final List<ItemBookingView> lastViews = new ArrayList<>();
+    final List<ItemBookingView> nextViews = new ArrayList<>();
+    final List<List<Comment>> comments = new ArrayList<>();
+    final List<List<ItemCommentView>> commentViews = new ArrayList<>();
+    final List<List<CommentDto>> commentDtos = new ArrayList<>();
+    final List<List<ItemShort>> requestItems = new ArrayList<>();
+
+    BenchmarkData(int size) {
+        for (int i = 0; i < size; i++) {
+            long id = i + 1;
+            ItemRequest request = new ItemRequest();
+            request.setId(id);
+            request.setDescription("Нужна дрель для ремонта, желательно с набором свёрл " + i);
+            request.setRequester(booker);
+            request.setCreated(Instant.parse("2024-01-01T12:00:00Z").plusSeconds(i));
+            requests.add(request);
+
+            Item item = new Item(id, "Дрель " + i, "Аккумуляторная дрель-шуруповёрт, два аккумулятора " + i, true);
+            item.setOwner(owner);
+            item.setRequest(request);
+            items.add(item);
+
+            Booking last = booking(2 * id, item, NOW.minusDays(i + 2));
+            Booking next = booking(2 * id + 1, item, NOW.plusDays(i + 2));
+            lastBookings.add(last);
+            nextBookings.add(next);
+            lastViews.add(new BookingView(last));
+            nextViews.add(new BookingView(next));
+
+            List<Comment> itemComments = new ArrayList<>();
+            List<ItemCommentView> itemCommentViews = new ArrayList<>();
+            List<CommentDto> itemCommentDtos = new ArrayList<>();
+            for (int j = 0; j < COMMENTS_PER_ITEM; j++) {
+                Comment comment = new Comment("Отличная дрель, всё работает " + j, item, booker);
+                itemComments.add(comment);
+                itemCommentViews.add(new CommentView(id, comment.getText(), booker.getName()));
+                itemCommentDtos.add(new CommentDto(comment.getText(), booker.getName()));
+            }
+            comments.add(itemComments);
+            commentViews.add(itemCommentViews);
+            commentDtos.add(itemCommentDtos);
+
+            requestItems.add(List.of(new ItemShort(id, item.getName(), item.getDescription(), true, id)));
+        }
+    }
+
+    private Booking booking(long id, Item item, LocalDateTime start) {
+        Booking booking = new Booking(start, start.plusDays(1));
+        booking.setId(id);
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStatus(BookingStatus.APPROVED);
+        return booking;
+    }
+
+    private static final class BookingView implements ItemBookingView {
+        private final Booking booking;
+
+        private BookingView(Booking booking) {
+            this.booking = booking;
+        }
+
+        @Override
+        public Long getId() {
+            return booking.getId();
+        }
+
+        @Override
+        public Long getItemId() {
+            return booking.getItem().getId();
+        }
+
+        @Override
+        public Long getBookerId() {
+            return booking.getBooker().getId();
+        }
+
+        @Override
+        public LocalDateTime getStart() {
+            return booking.getStart();
+        }
+    }
+
+    private static final class CommentView implements ItemCommentView {
+        private final Long itemId;
+        private final String text;
+        private final String authorName;
+
+        private CommentView(Long itemId, String text, String authorName) {
+            this.itemId = itemId;
+            this.text = text;
+            this.authorName = authorName;
+        }
+
+        @Override
+        public Long getItemId() {
+            return itemId;
+        }
+
+        @Override
+        public String getText() {
+            return text;
+        }
+
+        @Override
+        public String getAuthorName() {
+            return authorName;
+        }
+    }
+}
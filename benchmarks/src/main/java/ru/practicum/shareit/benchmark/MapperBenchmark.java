@@ -0,0 +1,113 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentMapper;
+import ru.practicum.shareit.item.dto.ItemCommentView;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private BenchmarkData data;
+
+    @Setup
+    public void setUp() {
+        data = new BenchmarkData(size);
+    }
+
+    @Benchmark
+    public List<ItemDto> itemDtoFromViews() {
+        List<ItemDto> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(ItemMapper.toItemDto(data.items.get(i), data.lastViews.get(i), data.nextViews.get(i),
+                    data.commentDtos.get(i)));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<ItemDto> itemDtoFromBookings() {
+        List<ItemDto> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(ItemMapper.toItemDto(data.nextBookings.get(i), data.lastBookings.get(i),
+                    data.commentDtos.get(i)));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<ItemDto> itemDtoWithoutBookings() {
+        List<ItemDto> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(ItemMapper.toItemDto(data.items.get(i), data.commentDtos.get(i)));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<ItemRequestDto> itemRequestDtoWithItems() {
+        List<ItemRequestDto> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(ItemRequestMapper.toItemRequestDto(data.requests.get(i), data.requestItems.get(i)));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<ItemRequestDto> itemRequestDtoWithItem() {
+        List<ItemRequestDto> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(ItemRequestMapper.toItemRequestDto(data.requests.get(i), data.items.get(i)));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<CommentDto> commentDtoFromEntities() {
+        List<CommentDto> result = new ArrayList<>(size * BenchmarkData.COMMENTS_PER_ITEM);
+        for (List<Comment> comments : data.comments) {
+            for (Comment comment : comments) {
+                result.add(CommentMapper.toCommentDto(comment));
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<CommentDto> commentDtoFromViews() {
+        List<CommentDto> result = new ArrayList<>(size * BenchmarkData.COMMENTS_PER_ITEM);
+        for (List<ItemCommentView> comments : data.commentViews) {
+            for (ItemCommentView comment : comments) {
+                result.add(CommentMapper.toCommentDto(comment));
+            }
+        }
+        return result;
+    }
+}
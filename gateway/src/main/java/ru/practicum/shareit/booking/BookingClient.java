@@ -1,14 +1,13 @@
 package ru.practicum.shareit.booking;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
-import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerTransport;
 
 import java.util.Map;
 
@@ -17,16 +16,12 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, ServerTransport transport,
+                         MeterRegistry meterRegistry) {
+        super(serverUrl + API_PREFIX, transport, meterRegistry);
     }
 
-    public ResponseEntity<Object> getBookings(long userId, String state, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getBookings(long userId, String state, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "state", state,
                 "from", from,
@@ -35,7 +30,7 @@ public class BookingClient extends BaseClient {
         return get(String.format("?state=%s&from=%d&size=%d", state, from, size), userId, parameters);
     }
 
-    public ResponseEntity<Object> getBookingsOwner(long userId, String state, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getBookingsOwner(long userId, String state, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "state", state,
                 "from", from,
@@ -44,7 +39,25 @@ public class BookingClient extends BaseClient {
         return get(String.format("/owner?state=%s&from=%d&size=%d", state, from, size), userId, parameters);
     }
 
-    public ResponseEntity<Object> updateBookingStatus(long userId, long bookingId, Boolean approved) {
+    public Mono<ResponseEntity<Object>> getBookingsAfter(long userId, String state, String after, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state,
+                "after", after,
+                "size", size
+        );
+        return get("?state={state}&after={after}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getBookingsOwnerAfter(long userId, String state, String after, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state,
+                "after", after,
+                "size", size
+        );
+        return get("/owner?state={state}&after={after}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> updateBookingStatus(long userId, long bookingId, Boolean approved) {
         Map<String, Object> parameters = Map.of(
                 "approved", approved
         );
@@ -52,11 +65,15 @@ public class BookingClient extends BaseClient {
     }
 
 
-    public ResponseEntity<Object> createBooking(long userId, BookItemRequestDto requestDto) {
-        return post("", userId, requestDto);
+    public Mono<ResponseEntity<Object>> createBooking(long userId, byte[] body) {
+        return postRaw("", userId, body);
+    }
+
+    public Mono<ResponseEntity<Object>> createBookings(long userId, byte[] body) {
+        return postRaw("/batch", userId, body);
     }
 
-    public ResponseEntity<Object> getBooking(long userId, Long bookingId) {
+    public Mono<ResponseEntity<Object>> getBooking(long userId, Long bookingId) {
         return get(String.format("/%d", bookingId), userId);
     }
 }
\ No newline at end of file
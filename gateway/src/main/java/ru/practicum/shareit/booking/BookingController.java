@@ -6,24 +6,30 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.client.RequestBodyCachingFilter;
 import ru.practicum.shareit.exception.BadParamException;
 import ru.practicum.shareit.exception.UnsupportedStatusException;
 
+import java.util.List;
+
 @Controller
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 @Slf4j
 public class BookingController {
+    private static final int MAX_BATCH_SIZE = 5000;
+
     private final BookingClient bookingClient;
 
     @GetMapping
-    public ResponseEntity<Object> getBookings(@RequestHeader(value = "X-Sharer-User-Id", required = false, defaultValue = "0")
+    public Mono<ResponseEntity<Object>> getBookings(@RequestHeader(value = "X-Sharer-User-Id", required = false, defaultValue = "0")
                                                   long userId,
-                                              @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
-                                              @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                              @RequestParam(name = "size", defaultValue = "20") Integer size) {
+                                                    @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
+                                                    @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                    @RequestParam(name = "size", defaultValue = "20") Integer size) {
         if (from < 0) {
             throw new BadParamException(String.format("Параметр from не может быть %d", from));
         }
@@ -37,11 +43,11 @@ public class BookingController {
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getBookingsOwner(@RequestHeader(value = "X-Sharer-User-Id", required = false, defaultValue = "0")
+    public Mono<ResponseEntity<Object>> getBookingsOwner(@RequestHeader(value = "X-Sharer-User-Id", required = false, defaultValue = "0")
                                                        long userId,
-                                                   @RequestParam(name = "state", required = false, defaultValue = "ALL") String stateParam,
-                                                   @RequestParam(name = "from", required = false, defaultValue = "0") Integer from,
-                                                   @RequestParam(name = "size", required = false, defaultValue = "20") Integer size) {
+                                                         @RequestParam(name = "state", required = false, defaultValue = "ALL") String stateParam,
+                                                         @RequestParam(name = "from", required = false, defaultValue = "0") Integer from,
+                                                         @RequestParam(name = "size", required = false, defaultValue = "20") Integer size) {
         if (from < 0) {
             throw new BadParamException(String.format("Параметр from не может быть %d", from));
         }
@@ -54,8 +60,39 @@ public class BookingController {
         return bookingClient.getBookingsOwner(userId, stateParam, from, size);
     }
 
+    @GetMapping(params = "after")
+    public Mono<ResponseEntity<Object>> getBookingsAfter(@RequestHeader(value = "X-Sharer-User-Id", required = false, defaultValue = "0")
+                                                       long userId,
+                                                         @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
+                                                         @RequestParam("after") String after,
+                                                         @RequestParam(name = "size", defaultValue = "20") Integer size) {
+        if (size <= 0) {
+            throw new BadParamException(String.format("Параметр size не может быть %d", size));
+        }
+        BookingState.from(stateParam)
+                .orElseThrow(() -> new UnsupportedStatusException("Unknown state: " + stateParam));
+        log.info(String.format("Get booking with state %s, userId=%d, after=%s, size=%d", stateParam, userId, after, size));
+        return bookingClient.getBookingsAfter(userId, stateParam, after, size);
+    }
+
+    @GetMapping(value = "/owner", params = "after")
+    public Mono<ResponseEntity<Object>> getBookingsOwnerAfter(@RequestHeader(value = "X-Sharer-User-Id", required = false, defaultValue = "0")
+                                                            long userId,
+                                                              @RequestParam(name = "state", required = false, defaultValue = "ALL") String stateParam,
+                                                              @RequestParam("after") String after,
+                                                              @RequestParam(name = "size", required = false, defaultValue = "20") Integer size) {
+        if (size <= 0) {
+            throw new BadParamException(String.format("Параметр size не может быть %d", size));
+        }
+        BookingState.from(stateParam)
+                .orElseThrow(() -> new UnsupportedStatusException("Unknown state: " + stateParam));
+        log.info(String.format("Получен запрос на получение списка аренд владельца с id %d State: %s после курсора %s",
+                userId, stateParam, after));
+        return bookingClient.getBookingsOwnerAfter(userId, stateParam, after, size);
+    }
+
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> updateBookingStatus(@RequestHeader(value = "X-Sharer-User-Id", required = false, defaultValue = "0")
+    public Mono<ResponseEntity<Object>> updateBookingStatus(@RequestHeader(value = "X-Sharer-User-Id", required = false, defaultValue = "0")
                                        long userId,
                                        @PathVariable("bookingId") Long bookingId,
                                        @RequestParam Boolean approved) {
@@ -64,17 +101,31 @@ public class BookingController {
     }
 
     @PostMapping
-    public ResponseEntity<Object> createBooking(@RequestHeader(value = "X-Sharer-User-Id", required = false, defaultValue = "0")
+    public Mono<ResponseEntity<Object>> createBooking(@RequestHeader(value = "X-Sharer-User-Id", required = false, defaultValue = "0")
                                                     long userId,
-                                           @RequestBody BookItemRequestDto requestDto) {
+                                           @RequestBody BookItemRequestDto requestDto,
+                                           @RequestAttribute(RequestBodyCachingFilter.RAW_BODY_ATTRIBUTE) byte[] body) {
         log.info(String.format("Creating booking %s, userId=%d", requestDto, userId));
-        return bookingClient.createBooking(userId, requestDto);
+        return bookingClient.createBooking(userId, body);
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> createBookings(@RequestHeader(value = "X-Sharer-User-Id", required = false, defaultValue = "0")
+                                                     long userId,
+                                                       @RequestBody List<BookItemRequestDto> requestDtos,
+                                                       @RequestAttribute(RequestBodyCachingFilter.RAW_BODY_ATTRIBUTE) byte[] body) {
+        if (requestDtos.isEmpty() || requestDtos.size() > MAX_BATCH_SIZE) {
+            throw new BadParamException(String.format("Размер пакета должен быть от 1 до %d, получено %d.",
+                    MAX_BATCH_SIZE, requestDtos.size()));
+        }
+        log.info(String.format("Creating %d bookings, userId=%d", requestDtos.size(), userId));
+        return bookingClient.createBookings(userId, body);
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBooking(@RequestHeader(value = "X-Sharer-User-Id", required = false, defaultValue = "0")
+    public Mono<ResponseEntity<Object>> getBooking(@RequestHeader(value = "X-Sharer-User-Id", required = false, defaultValue = "0")
                                                  long userId,
-                                             @PathVariable Long bookingId) {
+                                                   @PathVariable Long bookingId) {
         log.info(String.format("Get booking %d, userId=%d", bookingId, userId));
         return bookingClient.getBooking(userId, bookingId);
     }
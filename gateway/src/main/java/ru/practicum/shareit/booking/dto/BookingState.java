@@ -7,6 +7,7 @@ public enum BookingState {
     CURRENT,
     FUTURE,
     PAST,
+    APPROVED,
     REJECTED,
     WAITING;
 
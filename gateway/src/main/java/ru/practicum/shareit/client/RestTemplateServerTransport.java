@@ -0,0 +1,41 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+@Component
+@ConditionalOnProperty(name = ServerTransport.MODE_PROPERTY, havingValue = "blocking", matchIfMissing = true)
+public class RestTemplateServerTransport implements ServerTransport {
+    private final RestTemplate rest;
+
+    public RestTemplateServerTransport(RestTemplateBuilder builder, ClientHttpRequestFactory requestFactory) {
+        this.rest = builder
+                .requestFactory(() -> requestFactory)
+                .build();
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> exchange(HttpMethod method, URI uri, HttpHeaders headers, @Nullable Object body) {
+        return Mono.fromCallable(() -> {
+            try {
+                return rest.exchange(uri, method, new HttpEntity<>(body, headers), byte[].class);
+            } catch (HttpStatusCodeException e) {
+                return ResponseEntity.status(e.getStatusCode())
+                        .headers(e.getResponseHeaders())
+                        .body(e.getResponseBodyAsByteArray());
+            }
+        });
+    }
+}
@@ -1,16 +1,15 @@
 package ru.practicum.shareit.item;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
-import ru.practicum.shareit.item.dto.CommentDto;
-import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.client.ServerTransport;
 
+import java.time.LocalDateTime;
 import java.util.Map;
 
 @Service
@@ -18,32 +17,28 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, ServerTransport transport,
+                      MeterRegistry meterRegistry) {
+        super(serverUrl + API_PREFIX, transport, meterRegistry);
     }
 
-    public ResponseEntity<Object> createItem(long userId, ItemDto itemDto) {
-        return post("", userId, itemDto);
+    public Mono<ResponseEntity<Object>> createItem(long userId, byte[] body) {
+        return postRaw("", userId, body);
     }
 
-    public ResponseEntity<Object> createComment(long userId, Long itemId, CommentDto commentDto) {
-        return post(String.format("/%d/comment", itemId), userId, commentDto);
+    public Mono<ResponseEntity<Object>> createComment(long userId, Long itemId, byte[] body) {
+        return postRaw(String.format("/%d/comment", itemId), userId, body);
     }
 
-    public ResponseEntity<Object> updateItem(long userId, ItemDto itemDto, Long itemId) {
-        return patch(String.format("/%d", itemId), userId, itemDto);
+    public Mono<ResponseEntity<Object>> updateItem(long userId, byte[] body, Long itemId) {
+        return patchRaw(String.format("/%d", itemId), userId, body);
     }
 
-    public ResponseEntity<Object> getItem(long userId, Long itemId) {
+    public Mono<ResponseEntity<Object>> getItem(long userId, Long itemId) {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> getItems(long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getItems(long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -51,7 +46,15 @@ public class ItemClient extends BaseClient {
         return get(String.format("?from=%d&size=%d", from, size), userId, parameters);
     }
 
-    public ResponseEntity<Object> getItemSearch(long userId, String text, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getItemsAfter(long userId, String after, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "after", after,
+                "size", size
+        );
+        return get("?after={after}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getItemSearch(long userId, String text, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size,
@@ -59,4 +62,21 @@ public class ItemClient extends BaseClient {
         );
         return get(String.format("/search?text=%s&from=%d&size=%d", text, from, size), userId, parameters);
     }
+
+    public Mono<ResponseEntity<Object>> getItemSuggest(long userId, String prefix, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "prefix", prefix,
+                "size", size
+        );
+        return get("/suggest?prefix={prefix}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getItemAvailability(long userId, long itemId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+                "itemId", itemId,
+                "from", from,
+                "to", to
+        );
+        return get("/{itemId}/availability?from={from}&to={to}", userId, parameters);
+    }
 }
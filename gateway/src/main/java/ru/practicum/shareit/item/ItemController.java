@@ -2,13 +2,18 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.RequestBodyCachingFilter;
 import ru.practicum.shareit.exception.BadParamException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
+
 @Controller
 @RequestMapping(path = "/items")
 @RequiredArgsConstructor
@@ -17,38 +22,41 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @PostMapping
-    public ResponseEntity<Object> createItem(@RequestHeader(value = "X-Sharer-User-Id", required = false, defaultValue = "0") long userId,
-                                     @RequestBody ItemDto item) {
+    public Mono<ResponseEntity<Object>> createItem(@RequestHeader(value = "X-Sharer-User-Id", required = false, defaultValue = "0") long userId,
+                                     @RequestBody ItemDto item,
+                                     @RequestAttribute(RequestBodyCachingFilter.RAW_BODY_ATTRIBUTE) byte[] body) {
         log.info(String.format("Получен запрос на создание товара: %s", item));
-        return itemClient.createItem(userId, item);
+        return itemClient.createItem(userId, body);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> createComment(@RequestHeader(value = "X-Sharer-User-Id", required = false, defaultValue = "0")
+    public Mono<ResponseEntity<Object>> createComment(@RequestHeader(value = "X-Sharer-User-Id", required = false, defaultValue = "0")
                                     long userId,
-                                                @PathVariable("itemId") Long itemId,
-                                                @RequestBody CommentDto comment) {
+                                                      @PathVariable("itemId") Long itemId,
+                                                      @RequestBody CommentDto comment,
+                                                      @RequestAttribute(RequestBodyCachingFilter.RAW_BODY_ATTRIBUTE) byte[] body) {
         log.info(String.format("Получен запрос на добавление комментария от юзера %d на предмет с id: %d", userId, itemId));
-        return itemClient.createComment(userId, itemId, comment);
+        return itemClient.createComment(userId, itemId, body);
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(@RequestHeader(value = "X-Sharer-User-Id", required = false, defaultValue = "0") long userId,
+    public Mono<ResponseEntity<Object>> updateItem(@RequestHeader(value = "X-Sharer-User-Id", required = false, defaultValue = "0") long userId,
                            @RequestBody ItemDto item,
-                           @PathVariable("itemId") Long itemId) {
+                           @PathVariable("itemId") Long itemId,
+                           @RequestAttribute(RequestBodyCachingFilter.RAW_BODY_ATTRIBUTE) byte[] body) {
         log.info(String.format("Получен запрос на обновление товара: %s", item));
-        return itemClient.updateItem(userId, item, itemId);
+        return itemClient.updateItem(userId, body, itemId);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItem(@RequestHeader("X-Sharer-User-Id") long userId,
+    public Mono<ResponseEntity<Object>> getItem(@RequestHeader("X-Sharer-User-Id") long userId,
                            @PathVariable("itemId") Long itemId) {
         log.info(String.format("Получен запрос на получение товара: %s", itemId));
         return itemClient.getItem(userId, itemId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getItems(@RequestHeader("X-Sharer-User-Id") long userId,
+    public Mono<ResponseEntity<Object>> getItems(@RequestHeader("X-Sharer-User-Id") long userId,
                                   @RequestParam(name = "from", required = false, defaultValue = "0") Integer from,
                                   @RequestParam(name = "size", required = false, defaultValue = "20") Integer size) {
         if (from < 0) {
@@ -61,8 +69,19 @@ public class ItemController {
         return itemClient.getItems(userId, from, size);
     }
 
+    @GetMapping(params = "after")
+    public Mono<ResponseEntity<Object>> getItemsAfter(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                      @RequestParam("after") String after,
+                                                      @RequestParam(name = "size", required = false, defaultValue = "20") Integer size) {
+        if (size <= 0) {
+            throw new BadParamException(String.format("Параметр size не может быть %d", size));
+        }
+        log.info(String.format("Получен запрос на получение списка товаров после курсора %s", after));
+        return itemClient.getItemsAfter(userId, after, size);
+    }
+
     @GetMapping("/search")
-    public ResponseEntity<Object> getItemSearch(@RequestHeader("X-Sharer-User-Id") long userId,
+    public Mono<ResponseEntity<Object>> getItemSearch(@RequestHeader("X-Sharer-User-Id") long userId,
                                     @RequestParam("text") String text,
                                     @RequestParam(name = "from", required = false, defaultValue = "0") Integer from,
                                     @RequestParam(name = "size", required = false, defaultValue = "20") Integer size) {
@@ -75,4 +94,29 @@ public class ItemController {
         log.info(String.format("Получен запрос на получение товара по поиску: %s", text));
         return itemClient.getItemSearch(userId, text, from, size);
     }
+
+    @GetMapping("/suggest")
+    public Mono<ResponseEntity<Object>> getItemSuggest(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                       @RequestParam("prefix") String prefix,
+                                                       @RequestParam(name = "size", required = false, defaultValue = "10") Integer size) {
+        if (size <= 0) {
+            throw new BadParamException(String.format("Параметр size не может быть %d", size));
+        }
+        log.info(String.format("Получен запрос на подсказки по префиксу: %s", prefix));
+        return itemClient.getItemSuggest(userId, prefix, size);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<Object>> getItemAvailability(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                            @PathVariable("itemId") long itemId,
+                                                            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                            LocalDateTime from,
+                                                            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                            LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new BadParamException("Начало периода должно быть раньше его конца.");
+        }
+        log.info(String.format("Получен запрос на календарь занятости предмета с id %d с %s по %s", itemId, from, to));
+        return itemClient.getItemAvailability(userId, itemId, from, to);
+    }
 }
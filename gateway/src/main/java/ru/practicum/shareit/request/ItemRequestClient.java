@@ -1,14 +1,13 @@
 package ru.practicum.shareit.request;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
-import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.client.ServerTransport;
 
 import java.util.Map;
 
@@ -17,24 +16,20 @@ public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, ServerTransport transport,
+                             MeterRegistry meterRegistry) {
+        super(serverUrl + API_PREFIX, transport, meterRegistry);
     }
 
-    public ResponseEntity<Object> createItemRequest(long userId, ItemRequestDto itemRequestDto) {
-        return post("", userId, itemRequestDto);
+    public Mono<ResponseEntity<Object>> createItemRequest(long userId, byte[] body) {
+        return postRaw("", userId, body);
     }
 
-    public ResponseEntity<Object> getItemRequestsOwn(long userId) {
+    public Mono<ResponseEntity<Object>> getItemRequestsOwn(long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getItemRequests(long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getItemRequests(long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -42,7 +37,15 @@ public class ItemRequestClient extends BaseClient {
         return get(String.format("/all?from=%d&size=%d", from, size), userId, parameters);
     }
 
-    public ResponseEntity<Object> getItemRequest(long userId, Long requestId) {
+    public Mono<ResponseEntity<Object>> getItemRequestsAfter(long userId, String after, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "after", after,
+                "size", size
+        );
+        return get("/all?after={after}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getItemRequest(long userId, Long requestId) {
         return get(String.format("/%d", requestId), userId);
     }
 }
@@ -5,7 +5,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.exception.BadParamException;
+import ru.practicum.shareit.client.RequestBodyCachingFilter;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 @Controller
@@ -16,22 +18,23 @@ public class ItemRequestController {
     private final ItemRequestClient requestClient;
 
     @PostMapping
-    public ResponseEntity<Object> createItemRequest(@RequestHeader(value = "X-Sharer-User-Id", required = false, defaultValue = "0")
+    public Mono<ResponseEntity<Object>> createItemRequest(@RequestHeader(value = "X-Sharer-User-Id", required = false, defaultValue = "0")
                                          long userId,
-                                            @RequestBody ItemRequestDto itemRequest) {
+                                            @RequestBody ItemRequestDto itemRequest,
+                                            @RequestAttribute(RequestBodyCachingFilter.RAW_BODY_ATTRIBUTE) byte[] body) {
         log.info("Получен запрос на добавление запроса для вещи: {}", itemRequest);
-        return requestClient.createItemRequest(userId, itemRequest);
+        return requestClient.createItemRequest(userId, body);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getItemRequestsOwn(@RequestHeader(value = "X-Sharer-User-Id", required = false, defaultValue = "0")
+    public Mono<ResponseEntity<Object>> getItemRequestsOwn(@RequestHeader(value = "X-Sharer-User-Id", required = false, defaultValue = "0")
                                                    long userId) {
         log.info("Получен запрос на получение своих запросов и ответов на них. userId: {}", userId);
         return requestClient.getItemRequestsOwn(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getItemRequests(@RequestHeader(value = "X-Sharer-User-Id", required = false, defaultValue = "0")
+    public Mono<ResponseEntity<Object>> getItemRequests(@RequestHeader(value = "X-Sharer-User-Id", required = false, defaultValue = "0")
                                                 long userId,
                                                 @RequestParam(name = "from", required = false, defaultValue = "0") Integer from,
                                                 @RequestParam(name = "size", required = false, defaultValue = "20") Integer size) {
@@ -45,8 +48,20 @@ public class ItemRequestController {
         return requestClient.getItemRequests(userId, from, size);
     }
 
+    @GetMapping(value = "/all", params = "after")
+    public Mono<ResponseEntity<Object>> getItemRequestsAfter(@RequestHeader(value = "X-Sharer-User-Id", required = false, defaultValue = "0")
+                                                             long userId,
+                                                             @RequestParam("after") String after,
+                                                             @RequestParam(name = "size", required = false, defaultValue = "20") Integer size) {
+        if (size <= 0) {
+            throw new BadParamException("Параметр size не может быть " + size);
+        }
+        log.info("Получен запрос на получение всех запросов после курсора {}, size = {}", after, size);
+        return requestClient.getItemRequestsAfter(userId, after, size);
+    }
+
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getItemRequest(@RequestHeader(value = "X-Sharer-User-Id", required = false, defaultValue = "0")
+    public Mono<ResponseEntity<Object>> getItemRequest(@RequestHeader(value = "X-Sharer-User-Id", required = false, defaultValue = "0")
                                          long userId,
                                          @PathVariable("requestId") Long requestId) {
         log.info("Получен запрос на получение запроса с id {}", requestId);
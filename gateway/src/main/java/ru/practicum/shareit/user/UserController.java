@@ -5,6 +5,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.RequestBodyCachingFilter;
 import ru.practicum.shareit.user.dto.UserDto;
 
 @Controller
@@ -15,32 +17,34 @@ public class UserController {
     private final UserClient userClient;
 
     @PostMapping
-    public ResponseEntity<Object> createUser(@RequestBody UserDto user) {
+    public Mono<ResponseEntity<Object>> createUser(@RequestBody UserDto user,
+                                                   @RequestAttribute(RequestBodyCachingFilter.RAW_BODY_ATTRIBUTE) byte[] body) {
         log.info(String.format("Получен запрос на создание пользователя: %s", user));
-        return userClient.createUser(user);
+        return userClient.createUser(body);
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getUser(@PathVariable Long userId) {
+    public Mono<ResponseEntity<Object>> getUser(@PathVariable Long userId) {
         log.info(String.format("Получен запрос на получение пользователя с id: %d", userId));
         return userClient.getUser(userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUsers() {
+    public Mono<ResponseEntity<Object>> getUsers() {
         log.info("Получен запрос на получение всех пользователей.");
         return userClient.getUsers();
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> patchUser(@PathVariable Long userId,
-                                            @RequestBody UserDto user) {
+    public Mono<ResponseEntity<Object>> patchUser(@PathVariable Long userId,
+                                                  @RequestBody UserDto user,
+                                                  @RequestAttribute(RequestBodyCachingFilter.RAW_BODY_ATTRIBUTE) byte[] body) {
         log.info(String.format("Получен запрос на обновление пользователя: %s", user));
-        return userClient.patchUser(userId, user);
+        return userClient.patchUser(userId, body);
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> deleteUser(@PathVariable Long userId) {
+    public Mono<ResponseEntity<Object>> deleteUser(@PathVariable Long userId) {
         log.info(String.format("Получен запрос на удаление пользователя: %d", userId));
         return userClient.deleteUser(userId);
     }
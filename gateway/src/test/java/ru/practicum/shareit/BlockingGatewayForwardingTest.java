@@ -0,0 +1,29 @@
+package ru.practicum.shareit;
+
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterAll;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+
+public class BlockingGatewayForwardingTest extends GatewayForwardingTest {
+    private static final MockWebServer server = new MockWebServer();
+
+    @Autowired
+    public BlockingGatewayForwardingTest(TestRestTemplate rest) {
+        super(server, rest);
+    }
+
+    @DynamicPropertySource
+    static void serverProperties(DynamicPropertyRegistry registry) {
+        registerServer(registry, server);
+    }
+
+    @AfterAll
+    static void afterAll() throws IOException {
+        server.shutdown();
+    }
+}
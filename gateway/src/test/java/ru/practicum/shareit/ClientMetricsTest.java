@@ -0,0 +1,51 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ServerTransport;
+import ru.practicum.shareit.user.UserClient;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ClientMetricsTest {
+    private final ServerTransport transport = mock(ServerTransport.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final UserClient client = new UserClient("http://server:9090", transport, registry);
+
+    @Test
+    void timerIsRecordedInInjectedRegistryTest() {
+        when(transport.exchange(eq(HttpMethod.GET), any(), any(), any()))
+                .thenReturn(Mono.just(ResponseEntity.status(404).body("{}".getBytes(StandardCharsets.UTF_8))));
+
+        client.getUser(42).block();
+
+        Timer timer = registry.get("shareit.client")
+                .tags("client", "UserClient", "method", "GET", "uri", "/{id}", "status", "404")
+                .timer();
+        assertThat(timer.count(), is(1L));
+    }
+
+    @Test
+    void transportErrorIsRecordedAsIoErrorTest() {
+        when(transport.exchange(eq(HttpMethod.DELETE), any(), any(), any()))
+                .thenReturn(Mono.error(new IOException("Connection refused")));
+
+        assertThrows(RuntimeException.class, () -> client.deleteUser(42L).block());
+
+        Timer timer = registry.get("shareit.client").tags("method", "DELETE", "status", "IO_ERROR").timer();
+        assertThat(timer.count(), is(1L));
+    }
+}
@@ -0,0 +1,110 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ServerTransport;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class GatewayAsyncControllerTest {
+    @MockBean
+    private final ServerTransport transport;
+    private final MockMvc mvc;
+
+    @Test
+    void getCompletesAsynchronouslyTest() throws Exception {
+        byte[] item = "{\"id\":1,\"name\":\"Дрель\"}".getBytes(StandardCharsets.UTF_8);
+        when(transport.exchange(eq(HttpMethod.GET), any(), any(), any()))
+                .thenReturn(Mono.just(ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(item))
+                        .delayElement(Duration.ofMillis(50)));
+
+        MvcResult result = mvc.perform(get("/items/1").header("X-Sharer-User-Id", 1))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(item));
+    }
+
+    @Test
+    void clientErrorStatusAndBodyArePropagatedTest() throws Exception {
+        byte[] error = "{\"error\":\"Предмет уже забронирован\"}".getBytes(StandardCharsets.UTF_8);
+        when(transport.exchange(eq(HttpMethod.POST), any(), any(), any()))
+                .thenReturn(Mono.just(ResponseEntity.status(409).contentType(MediaType.APPLICATION_JSON).body(error)));
+        byte[] body = "{\"itemId\":1,\"start\":\"2030-01-01T10:00:00\",\"end\":\"2030-01-02T10:00:00\"}"
+                .getBytes(StandardCharsets.UTF_8);
+
+        MvcResult result = mvc.perform(post("/bookings")
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isConflict())
+                .andExpect(content().bytes(error));
+        ArgumentCaptor<Object> forwarded = ArgumentCaptor.forClass(Object.class);
+        verify(transport).exchange(eq(HttpMethod.POST), eq(URI.create("http://server:9090/bookings")),
+                any(HttpHeaders.class), forwarded.capture());
+        assertThat(forwarded.getValue(), is(body));
+    }
+
+    @Test
+    void serverErrorStatusAndBodyArePropagatedTest() throws Exception {
+        byte[] error = "{\"error\":\"Внутренняя ошибка\"}".getBytes(StandardCharsets.UTF_8);
+        when(transport.exchange(eq(HttpMethod.GET), any(), any(), any()))
+                .thenReturn(Mono.just(ResponseEntity.status(502).header("X-Trace-Id", "abc").body(error)));
+
+        MvcResult result = mvc.perform(get("/users/1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadGateway())
+                .andExpect(header().string("X-Trace-Id", "abc"))
+                .andExpect(content().bytes(error));
+    }
+
+    @Test
+    void invalidParametersAreRejectedBeforeForwardingTest() throws Exception {
+        mvc.perform(get("/items").header("X-Sharer-User-Id", 1).param("from", "-1"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isBadRequest());
+
+        verify(transport, never()).exchange(any(), any(), any(), any());
+    }
+}
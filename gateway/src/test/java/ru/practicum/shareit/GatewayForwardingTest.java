@@ -0,0 +1,148 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@RequiredArgsConstructor
+public abstract class GatewayForwardingTest {
+    private final MockWebServer server;
+    private final TestRestTemplate rest;
+
+    static void registerServer(DynamicPropertyRegistry registry, MockWebServer server) {
+        registry.add("shareit-server.url", () -> "http://" + server.getHostName() + ":" + server.getPort());
+    }
+
+    @Test
+    void requestBodyIsForwardedByteForByteTest() throws InterruptedException {
+        byte[] body = "{ \"name\" : \"Дрель\",\n  \"description\":\"ударная \\u00e9\", \"available\":true }"
+                .getBytes(StandardCharsets.UTF_8);
+        server.enqueue(new MockResponse()
+                .setResponseCode(201)
+                .setHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .setBody("{\"id\":1}"));
+
+        ResponseEntity<byte[]> response = rest.exchange(RequestEntity.post(URI.create("/items"))
+                .header("X-Sharer-User-Id", "7")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body), byte[].class);
+
+        RecordedRequest recorded = server.takeRequest(5, TimeUnit.SECONDS);
+        assertThat(response.getStatusCode(), is(HttpStatus.CREATED));
+        assertThat(recorded, notNullValue());
+        assertThat(recorded.getMethod(), is("POST"));
+        assertThat(recorded.getPath(), is("/items"));
+        assertThat(recorded.getBody().readByteArray(), is(body));
+        assertThat(recorded.getHeader("Content-Length"), is(String.valueOf(body.length)));
+        assertThat(recorded.getHeader("X-Sharer-User-Id"), is("7"));
+    }
+
+    @Test
+    void requestContentTypeIsForwardedWithCharsetTest() throws InterruptedException {
+        Charset charset = Charset.forName("windows-1251");
+        MediaType contentType = new MediaType(MediaType.APPLICATION_JSON, charset);
+        byte[] body = "{\"name\":\"Дрель\",\"description\":\"ударная\",\"available\":true}".getBytes(charset);
+        server.enqueue(new MockResponse().setResponseCode(201).setBody("{\"id\":1}"));
+
+        ResponseEntity<byte[]> response = rest.exchange(RequestEntity.post(URI.create("/items"))
+                .header("X-Sharer-User-Id", "7")
+                .contentType(contentType)
+                .body(body), byte[].class);
+
+        RecordedRequest recorded = server.takeRequest(5, TimeUnit.SECONDS);
+        assertThat(response.getStatusCode(), is(HttpStatus.CREATED));
+        assertThat(recorded, notNullValue());
+        assertThat(MediaType.parseMediaType(recorded.getHeader("Content-Type")), is(contentType));
+        assertThat(recorded.getBody().readByteArray(), is(body));
+    }
+
+    @Test
+    void patchBodyIsForwardedByteForByteTest() throws InterruptedException {
+        byte[] body = "{\"email\":\"new@mail.ru\"}   ".getBytes(StandardCharsets.UTF_8);
+        server.enqueue(new MockResponse().setResponseCode(200).setBody("{}"));
+
+        rest.exchange(RequestEntity.patch(URI.create("/users/3"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body), byte[].class);
+
+        RecordedRequest recorded = server.takeRequest(5, TimeUnit.SECONDS);
+        assertThat(recorded, notNullValue());
+        assertThat(recorded.getMethod(), is("PATCH"));
+        assertThat(recorded.getPath(), is("/users/3"));
+        assertThat(recorded.getBody().readByteArray(), is(body));
+    }
+
+    @Test
+    void hopByHopResponseHeadersAreDroppedTest() {
+        String payload = "{\"id\":5,\"name\":\"Дрель\"}";
+        server.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .setHeader("Keep-Alive", "timeout=5")
+                .setHeader("Trailer", "Expires")
+                .setHeader("X-Trace-Id", "abc")
+                .setBody(payload));
+
+        ResponseEntity<byte[]> response = rest.exchange(RequestEntity.get(URI.create("/items/5"))
+                .header("X-Sharer-User-Id", "1")
+                .build(), byte[].class);
+
+        byte[] expected = payload.getBytes(StandardCharsets.UTF_8);
+        assertThat(response.getStatusCode(), is(HttpStatus.OK));
+        assertThat(response.getBody(), is(expected));
+        assertThat(response.getHeaders().getFirst("X-Trace-Id"), is("abc"));
+        assertThat(response.getHeaders().getOrEmpty("Keep-Alive"), not(hasItem("timeout=5")));
+        assertThat(response.getHeaders().containsKey("Trailer"), is(false));
+        assertThat(response.getHeaders().getContentLength(), anyOf(is(-1L), is((long) expected.length)));
+    }
+
+    @Test
+    void clientErrorIsPassedThroughTest() {
+        String error = "{\"error\":\"Предмет уже забронирован\"}";
+        server.enqueue(new MockResponse()
+                .setResponseCode(409)
+                .setHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .setBody(error));
+
+        ResponseEntity<byte[]> response = rest.exchange(RequestEntity.post(URI.create("/bookings"))
+                .header("X-Sharer-User-Id", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("{\"itemId\":1,\"start\":\"2030-01-01T10:00:00\",\"end\":\"2030-01-02T10:00:00\"}"),
+                byte[].class);
+
+        assertThat(response.getStatusCode(), is(HttpStatus.CONFLICT));
+        assertThat(new String(response.getBody(), StandardCharsets.UTF_8), is(error));
+    }
+
+    @Test
+    void serverErrorIsPassedThroughTest() {
+        String error = "{\"error\":\"Внутренняя ошибка\"}";
+        server.enqueue(new MockResponse()
+                .setResponseCode(503)
+                .setHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .setBody(error));
+
+        ResponseEntity<byte[]> response = rest.exchange(RequestEntity.get(URI.create("/users/1")).build(), byte[].class);
+
+        assertThat(response.getStatusCode(), is(HttpStatus.SERVICE_UNAVAILABLE));
+        assertThat(new String(response.getBody(), StandardCharsets.UTF_8), is(error));
+    }
+}
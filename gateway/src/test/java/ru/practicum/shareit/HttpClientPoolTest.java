@@ -0,0 +1,81 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.Configurable;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.InterceptingClientHttpRequestFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerTransport;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.request.ItemRequestClient;
+import ru.practicum.shareit.user.UserClient;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "shareit-server.http.max-total=17",
+        "shareit-server.http.max-per-route=9",
+        "shareit-server.http.connect-timeout=1500ms",
+        "shareit-server.http.read-timeout=12s",
+        "shareit-server.http.connection-request-timeout=700ms"
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class HttpClientPoolTest {
+    private final ItemClient itemClient;
+    private final BookingClient bookingClient;
+    private final UserClient userClient;
+    private final ItemRequestClient itemRequestClient;
+    private final ServerTransport transport;
+    private final CloseableHttpClient httpClient;
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Test
+    void clientsShareOneConnectionManagerTest() {
+        for (BaseClient client : List.of(itemClient, bookingClient, userClient, itemRequestClient)) {
+            assertThat(ReflectionTestUtils.getField(client, "transport"), sameInstance(transport));
+        }
+        RestTemplate rest = (RestTemplate) ReflectionTestUtils.getField(transport, "rest");
+        ClientHttpRequestFactory requestFactory = rest.getRequestFactory();
+        if (requestFactory instanceof InterceptingClientHttpRequestFactory) {
+            requestFactory = (ClientHttpRequestFactory) ReflectionTestUtils.getField(requestFactory, "requestFactory");
+        }
+        assertThat(requestFactory, instanceOf(HttpComponentsClientHttpRequestFactory.class));
+        assertThat(((HttpComponentsClientHttpRequestFactory) requestFactory).getHttpClient(), sameInstance(httpClient));
+        assertThat(ReflectionTestUtils.getField(httpClient, "connManager"), sameInstance(connectionManager));
+    }
+
+    @Test
+    void poolLimitsAndTimeoutsAreAppliedTest() {
+        assertThat(connectionManager.getMaxTotal(), is(17));
+        assertThat(connectionManager.getDefaultMaxPerRoute(), is(9));
+        RequestConfig config = ((Configurable) httpClient).getConfig();
+        assertThat(config.getConnectTimeout(), is(1500));
+        assertThat(config.getSocketTimeout(), is(12_000));
+        assertThat(config.getConnectionRequestTimeout(), is(700));
+    }
+
+    @Test
+    void poolGaugesAreRegisteredTest() {
+        for (String state : List.of("leased", "available", "pending", "max")) {
+            assertThat(meterRegistry.find("shareit.client.pool").tag("state", state).gauge(), notNullValue());
+        }
+        Gauge max = meterRegistry.get("shareit.client.pool").tag("state", "max").gauge();
+        assertThat(max.value(), is(17.0));
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit;
+
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterAll;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.client.ServerTransport;
+
+import java.io.IOException;
+
+@TestPropertySource(properties = ServerTransport.MODE_PROPERTY + "=reactive")
+public class ReactiveGatewayForwardingTest extends GatewayForwardingTest {
+    private static final MockWebServer server = new MockWebServer();
+
+    @Autowired
+    public ReactiveGatewayForwardingTest(TestRestTemplate rest) {
+        super(server, rest);
+    }
+
+    @DynamicPropertySource
+    static void serverProperties(DynamicPropertyRegistry registry) {
+        registerServer(registry, server);
+    }
+
+    @AfterAll
+    static void afterAll() throws IOException {
+        server.shutdown();
+    }
+}
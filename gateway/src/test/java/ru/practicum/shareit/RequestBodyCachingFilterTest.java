@@ -0,0 +1,89 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+import ru.practicum.shareit.client.RequestBodyCachingFilter;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.ServletRequest;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class RequestBodyCachingFilterTest {
+    private final RequestBodyCachingFilter filter = new RequestBodyCachingFilter();
+
+    @Test
+    void cachedBodyIsStoredAndReplayedTest() throws Exception {
+        byte[] body = "{\"name\":\"Дрель\"}".getBytes(StandardCharsets.UTF_8);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/items");
+        request.setContent(body);
+        request.setContentType("application/json;charset=UTF-8");
+        AtomicReference<ServletRequest> forwarded = new AtomicReference<>();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> forwarded.set(req));
+
+        assertThat(request.getAttribute(RequestBodyCachingFilter.RAW_BODY_ATTRIBUTE), is(body));
+        assertThat(request.getAttribute(RequestBodyCachingFilter.RAW_CONTENT_TYPE_ATTRIBUTE),
+                is("application/json;charset=UTF-8"));
+        assertThat(StreamUtils.copyToByteArray(forwarded.get().getInputStream()), is(body));
+        assertThat(forwarded.get().getContentLength(), is(body.length));
+    }
+
+    @Test
+    void readListenerIsNotifiedImmediatelyTest() throws Exception {
+        byte[] body = "{\"name\":\"Дрель\"}".getBytes(StandardCharsets.UTF_8);
+        MockHttpServletRequest request = new MockHttpServletRequest("PATCH", "/items/1");
+        request.setContent(body);
+        AtomicReference<ServletRequest> forwarded = new AtomicReference<>();
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> forwarded.set(req));
+
+        ServletInputStream input = forwarded.get().getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        List<String> events = new ArrayList<>();
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                events.add("data");
+                byte[] buffer = new byte[4];
+                while (input.isReady() && !input.isFinished()) {
+                    int length = input.read(buffer);
+                    read.write(buffer, 0, length);
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                events.add("done");
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                events.add("error");
+            }
+        });
+
+        assertThat(events, contains("data", "done"));
+        assertThat(read.toByteArray(), is(body));
+    }
+
+    @Test
+    void bodylessRequestIsNotWrappedTest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items/1");
+        AtomicReference<ServletRequest> forwarded = new AtomicReference<>();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> forwarded.set(req));
+
+        assertThat(forwarded.get(), sameInstance(request));
+        assertThat(request.getAttribute(RequestBodyCachingFilter.RAW_BODY_ATTRIBUTE), nullValue());
+    }
+}
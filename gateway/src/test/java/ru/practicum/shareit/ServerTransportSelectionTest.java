@@ -0,0 +1,48 @@
+package ru.practicum.shareit;
+
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.function.client.WebClientAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import ru.practicum.shareit.client.HttpClientConfig;
+import ru.practicum.shareit.client.RestTemplateServerTransport;
+import ru.practicum.shareit.client.ServerTransport;
+import ru.practicum.shareit.client.WebClientServerTransport;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class ServerTransportSelectionTest {
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(RestTemplateAutoConfiguration.class,
+                    WebClientAutoConfiguration.class))
+            .withUserConfiguration(HttpClientConfig.class, RestTemplateServerTransport.class,
+                    WebClientServerTransport.class);
+
+    @Test
+    void blockingTransportIsDefaultTest() {
+        runner.run(context -> {
+            assertThat(context.getBean(ServerTransport.class), instanceOf(RestTemplateServerTransport.class));
+            assertThat(context.getBeansOfType(PoolingHttpClientConnectionManager.class).size(), is(1));
+        });
+    }
+
+    @Test
+    void blockingTransportIsSelectedByPropertyTest() {
+        runner.withPropertyValues(ServerTransport.MODE_PROPERTY + "=blocking").run(context -> {
+            assertThat(context.getBean(ServerTransport.class), instanceOf(RestTemplateServerTransport.class));
+            assertThat(context.getBeansOfType(WebClientServerTransport.class), anEmptyMap());
+        });
+    }
+
+    @Test
+    void reactiveTransportIsSelectedByPropertyTest() {
+        runner.withPropertyValues(ServerTransport.MODE_PROPERTY + "=reactive").run(context -> {
+            assertThat(context.getBean(ServerTransport.class), instanceOf(WebClientServerTransport.class));
+            assertThat(context.getBeansOfType(RestTemplateServerTransport.class), anEmptyMap());
+            assertThat(context.getBeansOfType(PoolingHttpClientConnectionManager.class), anEmptyMap());
+        });
+    }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LatencyRecorder {
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    public void record(String endpoint, long intendedNanos, long sentNanos, long completedNanos, boolean success) {
+        Endpoint recorder = endpoints.computeIfAbsent(endpoint, name -> new Endpoint());
+        recorder.corrected.recordValue(toMicros(completedNanos - intendedNanos));
+        recorder.service.recordValue(toMicros(completedNanos - sentNanos));
+        if (!success) {
+            recorder.errors.increment();
+        }
+    }
+
+    public Map<String, Result> finish() {
+        Map<String, Result> results = new TreeMap<>();
+        endpoints.forEach((name, endpoint) -> results.put(name, new Result(endpoint.corrected.getIntervalHistogram(),
+                endpoint.service.getIntervalHistogram(), endpoint.errors.sum())));
+        return results;
+    }
+
+    public static void report(PrintStream out, Map<String, Result> results, double seconds) {
+        out.printf("%-28s %8s %7s %8s %9s %9s %9s %9s %9s %12s%n", "endpoint", "count", "errors", "rps",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "svc p99 ms");
+        Histogram total = new Histogram(HIGHEST_MICROS, SIGNIFICANT_DIGITS);
+        long errors = 0;
+        for (Map.Entry<String, Result> entry : results.entrySet()) {
+            Result result = entry.getValue();
+            total.add(result.corrected);
+            errors += result.errors;
+            print(out, entry.getKey(), result.corrected, result.service, result.errors, seconds);
+        }
+        print(out, "total", total, null, errors, seconds);
+    }
+
+    public static void writeHistograms(Path directory, Map<String, Result> results) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<String, Result> entry : results.entrySet()) {
+            Path file = directory.resolve(entry.getKey().replaceAll("[^A-Za-z0-9]+", "_") + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                entry.getValue().corrected.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private static void print(PrintStream out, String name, Histogram corrected, Histogram service, long errors,
+                              double seconds) {
+        out.printf("%-28s %8d %7d %8.1f %9.2f %9.2f %9.2f %9.2f %9.2f %12s%n", name, corrected.getTotalCount(), errors,
+                corrected.getTotalCount() / seconds, millis(corrected, 50), millis(corrected, 90),
+                millis(corrected, 99), millis(corrected, 99.9), corrected.getMaxValue() / 1000.0,
+                service == null ? "" : String.format("%.2f", millis(service, 99)));
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.min(HIGHEST_MICROS, Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+
+    private static final class Endpoint {
+        private final Recorder corrected = new Recorder(HIGHEST_MICROS, SIGNIFICANT_DIGITS);
+        private final Recorder service = new Recorder(HIGHEST_MICROS, SIGNIFICANT_DIGITS);
+        private final LongAdder errors = new LongAdder();
+    }
+
+    public static final class Result {
+        private final Histogram corrected;
+        private final Histogram service;
+        private final long errors;
+
+        private Result(Histogram corrected, Histogram service, long errors) {
+            this.corrected = corrected;
+            this.service = service;
+            this.errors = errors;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+public class LoadTest {
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestConfig config;
+    private final HttpClient client;
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public LoadTest(LoadTestConfig config, HttpClient client) {
+        this.config = config;
+        this.client = client;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        ExecutorService executor = Executors.newCachedThreadPool();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+        try (LocalStack ignored = config.isLocal() ? LocalStack.start(config.getProjectDir(), config.getTarget(),
+                config.getGatewayMode()) : null) {
+            new LoadTest(config, client).run();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    public void run() throws Exception {
+        System.out.println("load test: " + config);
+        Workload workload = new Workload(client, config);
+        workload.seed(config.getUsers(), config.getItems());
+
+        long interval = TimeUnit.SECONDS.toNanos(1) / config.getRate();
+        long start = System.nanoTime();
+        long measureFrom = start + config.getWarmup().toNanos();
+        long end = measureFrom + config.getDuration().toNanos();
+        long late = 0;
+        for (long i = 0; ; i++) {
+            long intended = start + i * interval;
+            if (intended >= end) {
+                break;
+            }
+            long now = System.nanoTime();
+            if (now < intended) {
+                LockSupport.parkNanos(intended - now);
+            } else if (now - intended > interval) {
+                late++;
+            }
+            fire(workload.next(), intended, intended >= measureFrom);
+        }
+        drain();
+
+        Map<String, LatencyRecorder.Result> results = recorder.finish();
+        LatencyRecorder.report(System.out, results, config.getDuration().toMillis() / 1000.0);
+        if (late > 0) {
+            System.out.printf("generator fell behind schedule on %d requests%n", late);
+        }
+        if (config.getHistograms() != null) {
+            LatencyRecorder.writeHistograms(config.getHistograms(), results);
+        }
+    }
+
+    private void fire(Workload.Call call, long intended, boolean measured) {
+        inFlight.incrementAndGet();
+        long sent = System.nanoTime();
+        client.sendAsync(call.getRequest(), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    long completed = System.nanoTime();
+                    if (measured) {
+                        recorder.record(call.getEndpoint(), intended, sent, completed,
+                                error == null && response.statusCode() < 400);
+                    }
+                    inFlight.decrementAndGet();
+                });
+    }
+
+    private void drain() throws InterruptedException {
+        long deadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package ru.practicum.shareit.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+public class LoadTestConfig {
+    private static final String DEFAULT_MIX = "search:70,item:15,bookings:10,write:5";
+
+    private final URI target;
+    private final int rate;
+    private final Duration duration;
+    private final Duration warmup;
+    private final Map<Operation, Integer> mix;
+    private final int users;
+    private final int items;
+    private final long seed;
+    private final boolean local;
+    private final Path projectDir;
+    private final String gatewayMode;
+    private final Path histograms;
+
+    private LoadTestConfig(Map<String, String> args) {
+        target = URI.create(args.getOrDefault("target", "http://localhost:8080"));
+        rate = Integer.parseInt(args.getOrDefault("rate", "100"));
+        duration = duration(args.getOrDefault("duration", "60s"));
+        warmup = duration(args.getOrDefault("warmup", "10s"));
+        mix = mix(args.getOrDefault("mix", DEFAULT_MIX));
+        users = Integer.parseInt(args.getOrDefault("users", "50"));
+        items = Integer.parseInt(args.getOrDefault("items", "500"));
+        seed = Long.parseLong(args.getOrDefault("seed", "42"));
+        local = Boolean.parseBoolean(args.getOrDefault("local", "false"));
+        projectDir = Path.of(args.getOrDefault("project-dir", "."));
+        gatewayMode = args.getOrDefault("gateway-mode", "blocking");
+        histograms = args.containsKey("histograms") ? Path.of(args.get("histograms")) : null;
+        if (rate <= 0) {
+            throw new IllegalArgumentException("rate must be positive");
+        }
+    }
+
+    public static LoadTestConfig parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                values.put(arg.substring(2), "true");
+            } else {
+                values.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+        return new LoadTestConfig(values);
+    }
+
+    private static Duration duration(String value) {
+        return Duration.parse("PT" + value.toUpperCase());
+    }
+
+    private static Map<Operation, Integer> mix(String value) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : value.split(",")) {
+            String[] weight = part.split(":");
+            weights.put(Operation.of(weight[0]), Integer.parseInt(weight[1].trim()));
+        }
+        return weights;
+    }
+
+    public URI getTarget() {
+        return target;
+    }
+
+    public int getRate() {
+        return rate;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    public Map<Operation, Integer> getMix() {
+        return mix;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public int getItems() {
+        return items;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public boolean isLocal() {
+        return local;
+    }
+
+    public Path getProjectDir() {
+        return projectDir;
+    }
+
+    public String getGatewayMode() {
+        return gatewayMode;
+    }
+
+    public Path getHistograms() {
+        return histograms;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("target=%s rate=%d/s duration=%s warmup=%s mix=%s users=%d items=%d seed=%d",
+                target, rate, duration, warmup, mix, users, items, seed);
+    }
+}
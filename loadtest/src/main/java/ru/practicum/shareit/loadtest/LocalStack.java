@@ -0,0 +1,101 @@
+package ru.practicum.shareit.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class LocalStack implements AutoCloseable {
+    private static final int SERVER_PORT = 9090;
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private final List<Process> processes = new ArrayList<>();
+
+    public static LocalStack start(Path projectDir, URI gateway, String gatewayMode) throws IOException, InterruptedException {
+        LocalStack stack = new LocalStack();
+        try {
+            Path logs = Files.createDirectories(projectDir.resolve("loadtest/target"));
+            stack.launch(jar(projectDir.resolve("server/target"), "shareit-server-*-exec.jar"),
+                    logs.resolve("server.log"),
+                    "--spring.profiles.active=test",
+                    "--server.port=" + SERVER_PORT);
+            stack.awaitHealthy(URI.create("http://localhost:" + SERVER_PORT));
+            stack.launch(jar(projectDir.resolve("gateway/target"), "shareit-gateway-*.jar"),
+                    logs.resolve("gateway.log"),
+                    "--server.port=" + gateway.getPort(),
+                    "--shareit-server.url=http://localhost:" + SERVER_PORT,
+                    "--shareit-gateway.mode=" + gatewayMode);
+            stack.awaitHealthy(gateway);
+            return stack;
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            stack.close();
+            throw e;
+        }
+    }
+
+    private void launch(Path jar, Path log, String... args) throws IOException {
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(), "-jar", jar.toString()));
+        command.addAll(List.of(args));
+        processes.add(new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start());
+    }
+
+    private void awaitHealthy(URI base) throws InterruptedException, IOException {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(base.resolve("/actuator/health"))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            for (Process process : processes) {
+                if (!process.isAlive()) {
+                    throw new IOException("Process exited with code " + process.exitValue());
+                }
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                Thread.sleep(500);
+            }
+        }
+        throw new IOException(base + " did not become healthy in " + STARTUP_TIMEOUT);
+    }
+
+    private static Path jar(Path directory, String glob) throws IOException {
+        try (DirectoryStream<Path> jars = Files.newDirectoryStream(directory, glob)) {
+            for (Path jar : jars) {
+                return jar;
+            }
+        }
+        throw new IOException("No " + glob + " in " + directory + ", run mvn package first");
+    }
+
+    @Override
+    public void close() {
+        for (int i = processes.size() - 1; i >= 0; i--) {
+            Process process = processes.get(i);
+            process.destroy();
+            try {
+                if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.loadtest;
+
+public enum Operation {
+    SEARCH("search"),
+    ITEM("item"),
+    BOOKINGS("bookings"),
+    WRITE("write");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public static Operation of(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equalsIgnoreCase(key.trim())) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + key);
+    }
+}
@@ -0,0 +1,203 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+public class Workload {
+    public static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private static final String[] NAMES = {"drill", "ladder", "tent", "kayak", "projector", "saw", "bike", "grill",
+            "camera", "speaker", "sander", "canoe", "scooter", "hammock", "telescope", "generator"};
+    private static final String[] STATES = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "APPROVED", "REJECTED"};
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+    private final URI target;
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final SplittableRandom random;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final List<Long> users = new ArrayList<>();
+    private final List<Long> items = new ArrayList<>();
+    private final List<Long> owners = new ArrayList<>();
+    private final LocalDateTime bookingsFrom = LocalDateTime.now().plusYears(1).truncatedTo(ChronoUnit.HOURS);
+    private long bookingSlot;
+    private long writes;
+
+    public Workload(HttpClient client, LoadTestConfig config) {
+        this.client = client;
+        this.target = config.getTarget();
+        this.random = new SplittableRandom(config.getSeed());
+        Map<Operation, Integer> mix = config.getMix();
+        operations = mix.keySet().toArray(new Operation[0]);
+        cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("mix must have a positive weight");
+        }
+    }
+
+    public void seed(int userCount, int itemCount) throws IOException, InterruptedException {
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        for (int i = 0; i < userCount; i++) {
+            users.add(create("/users", null, Map.of("name", "loadtest " + i,
+                    "email", "loadtest-" + run + "-" + i + "@shareit.local")));
+        }
+        for (int i = 0; i < itemCount; i++) {
+            long owner = users.get(i % users.size());
+            String name = NAMES[i % NAMES.length];
+            items.add(create("/items", owner, Map.of("name", name + " " + i,
+                    "description", "load test " + name, "available", true)));
+            owners.add(owner);
+        }
+        for (int i = 0; i < items.size(); i += 2) {
+            long booking = create("/bookings", booker(i), bookingBody(i));
+            if (i % 4 == 0) {
+                send(HttpRequest.newBuilder(uri("/bookings/" + booking + "?approved=true"))
+                        .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                        .header(USER_HEADER, owners.get(i).toString()));
+            }
+        }
+    }
+
+    public Call next() {
+        switch (pick()) {
+            case SEARCH:
+                return get("GET /items/search", "/items/search?size=20&text=" + NAMES[random.nextInt(NAMES.length)],
+                        randomUser());
+            case ITEM:
+                int item = random.nextInt(items.size());
+                return get("GET /items/{id}", "/items/" + items.get(item),
+                        random.nextBoolean() ? owners.get(item) : randomUser());
+            case BOOKINGS:
+                String state = STATES[random.nextInt(STATES.length)];
+                if (random.nextBoolean()) {
+                    return get("GET /bookings/owner", "/bookings/owner?size=20&state=" + state,
+                            owners.get(random.nextInt(owners.size())));
+                }
+                return get("GET /bookings", "/bookings?size=20&state=" + state, randomUser());
+            default:
+                return write();
+        }
+    }
+
+    private Call write() {
+        long user = randomUser();
+        switch ((int) (writes++ % 3)) {
+            case 0:
+                return post("POST /items", "/items", user, Map.of("name", NAMES[random.nextInt(NAMES.length)] + " new",
+                        "description", "load test write", "available", true));
+            case 1:
+                return post("POST /requests", "/requests", user, Map.of("description", "load test request"));
+            default:
+                int item = random.nextInt(items.size());
+                return post("POST /bookings", "/bookings", booker(item), bookingBody(item));
+        }
+    }
+
+    private Map<String, Object> bookingBody(int item) {
+        LocalDateTime start = bookingsFrom.plusHours(2 * bookingSlot++);
+        return Map.of("itemId", items.get(item), "start", start, "end", start.plusHours(1));
+    }
+
+    private long booker(int item) {
+        return users.get((item + 1) % users.size());
+    }
+
+    private long randomUser() {
+        return users.get(random.nextInt(users.size()));
+    }
+
+    private Operation pick() {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private Call get(String endpoint, String path, long user) {
+        return new Call(endpoint, HttpRequest.newBuilder(uri(path))
+                .timeout(TIMEOUT)
+                .header(USER_HEADER, Long.toString(user))
+                .GET()
+                .build());
+    }
+
+    private Call post(String endpoint, String path, long user, Object body) {
+        return new Call(endpoint, json(path, user, body).build());
+    }
+
+    private long create(String path, Long user, Object body) throws IOException, InterruptedException {
+        return mapper.readTree(send(json(path, user, body))).get("id").asLong();
+    }
+
+    private HttpRequest.Builder json(String path, Long user, Object body) {
+        HttpRequest.Builder builder;
+        try {
+            builder = HttpRequest.newBuilder(uri(path))
+                    .timeout(TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        if (user != null) {
+            builder.header(USER_HEADER, user.toString());
+        }
+        return builder;
+    }
+
+    private String send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request.timeout(TIMEOUT).build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw new IOException(request.build().uri() + " -> " + response.statusCode() + " " + response.body());
+        }
+        return response.body();
+    }
+
+    private URI uri(String path) {
+        return target.resolve(path);
+    }
+
+    public static final class Call {
+        private final String endpoint;
+        private final HttpRequest request;
+
+        private Call(String endpoint, HttpRequest request) {
+            this.endpoint = endpoint;
+            this.request = request;
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public HttpRequest getRequest() {
+            return request;
+        }
+    }
+}
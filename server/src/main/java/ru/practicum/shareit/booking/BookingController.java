@@ -1,10 +1,17 @@
 package ru.practicum.shareit.booking;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
 import ru.practicum.shareit.booking.dto.BookingDto;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingResponse;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Slf4j
@@ -19,32 +26,40 @@ public class BookingController {
     }
 
     @PostMapping
-    public Booking createBooking(@RequestBody BookingDto bookingDto,
+    public BookingResponse createBooking(@RequestBody BookingDto bookingDto,
                                  @RequestHeader(value = "X-Sharer-User-Id", required = false, defaultValue = "0")
                                     Long userId) {
         log.info(String.format("Получен запрос на добавление бронировавния: %s", bookingDto));
-        return bookingService.createBooking(bookingDto, userId);
+        return BookingMapper.toBookingResponse(bookingService.createBooking(bookingDto, userId));
+    }
+
+    @PostMapping("/batch")
+    public List<BookingBatchResult> createBookings(@RequestBody List<BookingDto> bookingDtos,
+                                                   @RequestHeader(value = "X-Sharer-User-Id", required = false, defaultValue = "0")
+                                                   Long userId) {
+        log.info(String.format("Получен запрос на пакетное добавление бронирований: %d шт.", bookingDtos.size()));
+        return bookingService.createBookings(bookingDtos, userId);
     }
 
     @PatchMapping("/{bookingId}")
-    public Booking updateBookingStatus(@RequestHeader(value = "X-Sharer-User-Id", required = false, defaultValue = "0")
+    public BookingResponse updateBookingStatus(@RequestHeader(value = "X-Sharer-User-Id", required = false, defaultValue = "0")
                                      Long userId,
                                  @PathVariable("bookingId") Long bookingId,
                                  @RequestParam Boolean approved) {
         log.info("Получен запрос на обновление статуса аренды.");
-        return bookingService.updateBookingStatus(userId, bookingId, approved);
+        return BookingMapper.toBookingResponse(bookingService.updateBookingStatus(userId, bookingId, approved));
     }
 
     @GetMapping("/{bookingId}")
-    public Booking getBooking(@RequestHeader(value = "X-Sharer-User-Id", required = false, defaultValue = "0")
+    public BookingResponse getBooking(@RequestHeader(value = "X-Sharer-User-Id", required = false, defaultValue = "0")
                                   Long userId,
                               @PathVariable("bookingId") Long bookingId) {
         log.info("Получен запрос на получение аренды.");
-        return bookingService.getBooking(userId, bookingId);
+        return BookingMapper.toBookingResponse(bookingService.getBooking(userId, bookingId));
     }
 
     @GetMapping
-    public List<Booking> getBookings(@RequestHeader(value = "X-Sharer-User-Id", required = false, defaultValue = "0")
+    public List<BookingResponse> getBookings(@RequestHeader(value = "X-Sharer-User-Id", required = false, defaultValue = "0")
                                          Long userId,
                                      @RequestParam(name = "state", required = false, defaultValue = "ALL")
                                      String state,
@@ -55,7 +70,7 @@ public class BookingController {
     }
 
     @GetMapping("/owner")
-    public List<Booking> getBookingsOwner(@RequestHeader(
+    public List<BookingResponse> getBookingsOwner(@RequestHeader(
             value = "X-Sharer-User-Id", required = false, defaultValue = "0") Long userId,
                                           @RequestParam(name = "state", required = false, defaultValue = "ALL")
                                           String state,
@@ -64,4 +79,42 @@ public class BookingController {
         log.info(String.format("Получен запрос на получение списка аренд владельца с id %d State: %s", userId, state));
         return bookingService.getBookingsOwner(userId, state, from, size);
     }
-}
\ No newline at end of file
+
+    @GetMapping(params = "after")
+    public ResponseEntity<List<BookingResponse>> getBookingsAfter(@RequestHeader(value = "X-Sharer-User-Id", required = false, defaultValue = "0")
+                                                              Long userId,
+                                                          @RequestParam(name = "state", required = false, defaultValue = "ALL")
+                                                          String state,
+                                                          @RequestParam("after") String after,
+                                                          @RequestParam(name = "size", required = false, defaultValue = "20") Integer size) {
+        log.info(String.format("Получен запрос на получение списка аренд пользователя с id %d State: %s после курсора %s",
+                userId, state, after));
+        return bookingService.getBookingsAfter(userId, state, after, size).toResponseEntity();
+    }
+
+    @GetMapping(value = "/owner", params = "after")
+    public ResponseEntity<List<BookingResponse>> getBookingsOwnerAfter(@RequestHeader(
+            value = "X-Sharer-User-Id", required = false, defaultValue = "0") Long userId,
+                                                               @RequestParam(name = "state", required = false, defaultValue = "ALL")
+                                                               String state,
+                                                               @RequestParam("after") String after,
+                                                               @RequestParam(name = "size", required = false, defaultValue = "20") Integer size) {
+        log.info(String.format("Получен запрос на получение списка аренд владельца с id %d State: %s после курсора %s",
+                userId, state, after));
+        return bookingService.getBookingsOwnerAfter(userId, state, after, size).toResponseEntity();
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBookingsOwner(@RequestHeader(
+            value = "X-Sharer-User-Id", required = false, defaultValue = "0") Long userId,
+                                                                     @RequestParam("ownerId") Long ownerId,
+                                                                     @RequestParam(name = "since", required = false,
+                                                                             defaultValue = "1970-01-01T00:00:00")
+                                                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                                     LocalDateTime since) {
+        log.info(String.format("Получен запрос на выгрузку аренд владельца с id %d начиная с %s", ownerId, since));
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(bookingService.exportBookingsOwner(userId, ownerId, since));
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.booking;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+@Getter
+@ToString
+public class BookingQuery {
+    private final boolean owner;
+    private final long userId;
+    private final BookingState state;
+    private final LocalDateTime now;
+    private final LocalDateTime afterStart;
+    private final Long afterId;
+    private final long offset;
+    private final int limit;
+
+    private BookingQuery(boolean owner, long userId, BookingState state, LocalDateTime now,
+                         LocalDateTime afterStart, Long afterId, long offset, int limit) {
+        this.owner = owner;
+        this.userId = userId;
+        this.state = state;
+        this.now = now;
+        this.afterStart = afterStart;
+        this.afterId = afterId;
+        this.offset = offset;
+        this.limit = limit;
+    }
+
+    public static BookingQuery booker(long userId, BookingState state, LocalDateTime now) {
+        return new BookingQuery(false, userId, state, now, null, null, 0, Integer.MAX_VALUE);
+    }
+
+    public static BookingQuery owner(long userId, BookingState state, LocalDateTime now) {
+        return new BookingQuery(true, userId, state, now, null, null, 0, Integer.MAX_VALUE);
+    }
+
+    public BookingQuery page(long offset, int limit) {
+        return new BookingQuery(owner, userId, state, now, null, null, offset, limit);
+    }
+
+    public BookingQuery after(LocalDateTime afterStart, Long afterId, int limit) {
+        return new BookingQuery(owner, userId, state, now, afterStart, afterId, 0, limit);
+    }
+
+    public boolean hasCursor() {
+        return afterStart != null;
+    }
+}
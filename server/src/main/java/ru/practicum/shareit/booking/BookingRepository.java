@@ -1,53 +1,77 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;import ru.practicum.shareit.booking.model.Booking;
-
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.ItemBookingCount;
+import ru.practicum.shareit.item.dto.ItemBookingPeriod;
+import ru.practicum.shareit.item.dto.ItemBookingView;
+
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findAllByBooker_IdOrderByStartDesc(Long userId, Pageable pageable);
-
-    List<Booking> findAllByBooker_IdAndStatusOrderByStartDesc(Long userId, BookingStatus status, Pageable pageable);
-
-    List<Booking> findAllByBooker_IdAndStartBeforeAndEndAfterOrderByStartDesc(Long userId,
-                                                                              LocalDateTime start,
-                                                                              LocalDateTime end,
-                                                                              Pageable pageable);
-
-    List<Booking> findAllByBooker_IdAndStartAfterOrderByStartDesc(Long userId, LocalDateTime start, Pageable pageable);
-
-    List<Booking> findAllByBooker_IdAndEndBeforeOrderByStartDesc(Long userId, LocalDateTime end, Pageable pageable);
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
-    List<Booking> findAllByItem_Owner_IdOrderByStartDesc(Long userId, Pageable pageable);
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
+    String RESPONSE = "select new ru.practicum.shareit.booking.dto.BookingResponse(" +
+            "b.id, b.start, b.end, b.status, b.booker.id, b.item.id, b.item.name) from Booking b ";
 
-    List<Booking> findAllByItem_Owner_IdAndStatusOrderByStartDesc(Long userId, BookingStatus status, Pageable pageable);
+    @Override
+    @EntityGraph(Booking.DETAIL_GRAPH)
+    Optional<Booking> findById(Long id);
 
-    List<Booking> findAllByItem_Owner_IdAndStartAfterOrderByStartDesc(Long userId, LocalDateTime start, Pageable pageable);
-
-    List<Booking> findAllByItem_Owner_IdAndEndBeforeOrderByStartDesc(Long userId, LocalDateTime end, Pageable pageable);
-
-    List<Booking> findAllByItem_Owner_IdAndStartBeforeAndEndAfterOrderByStartDesc(Long userId,
-                                                                                  LocalDateTime start,
-                                                                                  LocalDateTime end,
-                                                                                  Pageable pageable);
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(RESPONSE + "where b.item.owner.id = :ownerId and b.start >= :since order by b.start, b.id")
+    Stream<BookingResponse> streamAllByItem_Owner_IdAndStartFrom(Long ownerId, LocalDateTime since);
 
+    @EntityGraph(Booking.DETAIL_GRAPH)
     List<Booking> findFirst2ByItem_IdAndStartBeforeAndStatusOrderByStartDesc(Long itemId,
                                                                             LocalDateTime end,
                                                                             BookingStatus status);
 
+    @EntityGraph(Booking.DETAIL_GRAPH)
     List<Booking> findFirst2ByItem_IdAndStartGreaterThanEqualAndStatusOrderByStartAsc(Long itemId,
                                                                   LocalDateTime start,
                                                                   BookingStatus status);
 
-    List<Booking> findAllByItem_Owner_IdAndStartBeforeAndStatusOrderByStartDesc(Long userId,
-                                                                                        LocalDateTime end,
-                                                                                        BookingStatus status);
-
-    List<Booking> findAllByItem_Owner_IdAndStartAfterAndStatusOrderByStartAsc(Long userId,
-                                                                                         LocalDateTime start,
-                                                                                         BookingStatus status);
-
+    boolean existsByItem_IdAndIdNotAndStatusInAndStartBeforeAndEndAfter(Long itemId,
+                                                                       Long bookingId,
+                                                                       Collection<BookingStatus> statuses,
+                                                                       LocalDateTime end,
+                                                                       LocalDateTime start);
+
+    @Query(value = "SELECT ranked.id AS \"id\", ranked.item_id AS \"itemId\", " +
+            "ranked.booker_id AS \"bookerId\", ranked.start_date AS \"start\" " +
+            "FROM (SELECT b.id, b.item_id, b.booker_id, b.start_date, " +
+            "ROW_NUMBER() OVER (PARTITION BY b.item_id, b.start_date < :now " +
+            "ORDER BY CASE WHEN b.start_date < :now THEN b.start_date END DESC, b.start_date) AS rn " +
+            "FROM bookings b WHERE b.item_id IN (:itemIds) AND b.status = :status) ranked " +
+            "WHERE ranked.rn = 1", nativeQuery = true)
+    List<ItemBookingView> findLastAndNextByItem_IdIn(Collection<Long> itemIds, LocalDateTime now, String status);
+
+    @EntityGraph(Booking.DETAIL_GRAPH)
     Booking findFirstByBooker_IdAndEndAfterOrderByStartDesc(Long userId, LocalDateTime end);
-}
\ No newline at end of file
+
+    @Query("select b.item.id as itemId, count(b.id) as bookings from Booking b group by b.item.id")
+    List<ItemBookingCount> countAllGroupByItem();
+
+    @Query("select b.id as id, b.item.id as itemId, b.start as start, b.end as end from Booking b " +
+            "where b.item.id in :itemIds and b.status in :statuses and b.start < :to and b.end > :from")
+    List<ItemBookingPeriod> findAllPeriodsByItem_IdInOverlapping(Collection<Long> itemIds,
+                                                                 Collection<BookingStatus> statuses,
+                                                                 LocalDateTime from,
+                                                                 LocalDateTime to);
+
+    @Query("select b.id as id, b.item.id as itemId, b.start as start, b.end as end from Booking b " +
+            "where b.status in :statuses and b.end > :end and b.id > :id order by b.id")
+    List<ItemBookingPeriod> findAllPeriodsByStatusInAndEndAfter(Collection<BookingStatus> statuses, LocalDateTime end,
+                                                                Long id, Pageable pageable);
+}
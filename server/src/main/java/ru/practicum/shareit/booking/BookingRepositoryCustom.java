@@ -0,0 +1,10 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.booking.dto.BookingResponse;
+
+import java.util.List;
+
+public interface BookingRepositoryCustom {
+
+    List<BookingResponse> findAllByQuery(BookingQuery query);
+}
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.booking.dto.BookingResponse;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+
+    private static final String USER_ID = "userId";
+    private static final String NOW = "now";
+    private static final String STATUS = "status";
+    private static final String AFTER_START = "afterStart";
+    private static final String AFTER_ID = "afterId";
+
+    private static final String SELECT = "select new " + BookingResponse.class.getName() +
+            "(b.id, b.start, b.end, b.status, b.booker.id, i.id, i.name) from Booking b join b.item i";
+
+    private final EntityManager entityManager;
+    private final Map<String, String> statements = new ConcurrentHashMap<>();
+
+    public BookingRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<BookingResponse> findAllByQuery(BookingQuery query) {
+        String key = query.getState() + (query.isOwner() ? ":owner" : ":booker") + (query.hasCursor() ? ":after" : "");
+        String jpql = statements.computeIfAbsent(key,
+                statement -> render(query.isOwner(), query.getState(), query.hasCursor()));
+        TypedQuery<BookingResponse> typedQuery = entityManager.createQuery(jpql, BookingResponse.class)
+                .setParameter(USER_ID, query.getUserId());
+        switch (query.getState()) {
+            case CURRENT:
+            case FUTURE:
+            case PAST:
+                typedQuery.setParameter(NOW, query.getNow());
+                break;
+            case WAITING:
+            case APPROVED:
+            case REJECTED:
+                typedQuery.setParameter(STATUS, BookingStatus.valueOf(query.getState().name()));
+                break;
+            default:
+                break;
+        }
+        if (query.hasCursor()) {
+            typedQuery.setParameter(AFTER_START, query.getAfterStart())
+                    .setParameter(AFTER_ID, query.getAfterId());
+        }
+        return typedQuery.setFirstResult((int) query.getOffset())
+                .setMaxResults(query.getLimit())
+                .getResultList();
+    }
+
+    private String render(boolean owner, BookingState state, boolean cursor) {
+        StringBuilder jpql = new StringBuilder(SELECT)
+                .append(owner ? " where i.owner.id = :" : " where b.booker.id = :").append(USER_ID);
+        switch (state) {
+            case CURRENT:
+                jpql.append(" and b.start < :").append(NOW).append(" and b.end > :").append(NOW);
+                break;
+            case FUTURE:
+                jpql.append(" and b.start > :").append(NOW);
+                break;
+            case PAST:
+                jpql.append(" and b.end < :").append(NOW);
+                break;
+            case WAITING:
+            case APPROVED:
+            case REJECTED:
+                jpql.append(" and b.status = :").append(STATUS);
+                break;
+            default:
+                break;
+        }
+        if (cursor) {
+            jpql.append(" and (b.start < :").append(AFTER_START)
+                    .append(" or b.start = :").append(AFTER_START).append(" and b.id < :").append(AFTER_ID).append(')');
+        }
+        return jpql.append(" order by b.start desc, b.id desc").toString();
+    }
+}
@@ -1,18 +1,31 @@
 package ru.practicum.shareit.booking;
 
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.pagination.CursorPage;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface BookingService {
     Booking createBooking(BookingDto booking, Long userId);
 
+    List<BookingBatchResult> createBookings(List<BookingDto> bookingDtos, Long userId);
+
     Booking updateBookingStatus(Long userId, Long bookingId, Boolean approved);
 
     Booking getBooking(Long userId, Long bookingId);
 
-    List<Booking> getBookings(Long userId, String state, Integer from, Integer size);
+    List<BookingResponse> getBookings(Long userId, String state, Integer from, Integer size);
+
+    List<BookingResponse> getBookingsOwner(Long userId, String state, Integer from, Integer size);
+
+    CursorPage<BookingResponse> getBookingsAfter(Long userId, String state, String after, Integer size);
+
+    CursorPage<BookingResponse> getBookingsOwnerAfter(Long userId, String state, String after, Integer size);
 
-    List<Booking> getBookingsOwner(Long userId, String state, Integer from, Integer size);
-}
\ No newline at end of file
+    StreamingResponseBody exportBookingsOwner(Long userId, Long ownerId, LocalDateTime since);
+}
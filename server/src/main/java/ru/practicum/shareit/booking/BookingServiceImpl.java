@@ -1,31 +1,81 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.data.domain.PageRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.datasource.ReplicaRoutingContext;
+import ru.practicum.shareit.exception.DuplicateException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.item.dto.ItemBookingPeriod;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSuggestIndex;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserService;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.*;
+import java.util.stream.Stream;
 
+@Slf4j
 @Service
 public class BookingServiceImpl implements BookingService {
 
+    private static final List<BookingStatus> BLOCKING_STATUSES = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+    private static final int MAX_BATCH_SIZE = 5000;
+    private static final int MAX_BATCH_ATTEMPTS = 2;
+
     private final BookingRepository repository;
     private final UserService userService;
     private final ItemRepository itemRepository;
+    private final ItemSuggestIndex suggestIndex;
+    private final ItemAvailabilityIndex availabilityIndex;
+    private final ObjectWriter exportWriter;
+    private final TransactionTemplate exportTransaction;
+    private final TransactionTemplate batchTransaction;
+    private final MeterRegistry meterRegistry;
 
-    public BookingServiceImpl(BookingRepository repository, UserService userService, ItemRepository itemRepository) {
+    public BookingServiceImpl(BookingRepository repository, UserService userService, ItemRepository itemRepository,
+                              ItemSuggestIndex suggestIndex, ItemAvailabilityIndex availabilityIndex,
+                              ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry) {
         this.repository = repository;
         this.userService = userService;
         this.itemRepository = itemRepository;
+        this.suggestIndex = suggestIndex;
+        this.availabilityIndex = availabilityIndex;
+        this.exportWriter = objectMapper.writerFor(BookingResponse.class);
+        this.exportTransaction = new TransactionTemplate(transactionManager);
+        this.exportTransaction.setReadOnly(true);
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
+    @Transactional
     public Booking createBooking(BookingDto bookingDto, Long userId) {
         userService.getUser(userId);
         if (bookingDto.getItemId() == userId) {
@@ -33,10 +83,100 @@ public class BookingServiceImpl implements BookingService {
         }
         Booking booking = toBooking(bookingDto, userId);
         validationCheck(booking);
-        return repository.save(booking);
+        overlapCheck(booking);
+        Booking bookingSaved = save(booking);
+        afterCommit(() -> {
+            suggestIndex.onBooked(bookingSaved.getItem().getId());
+            availabilityIndex.onBookingChanged(bookingSaved);
+        });
+        return bookingSaved;
+    }
+
+    @Override
+    public List<BookingBatchResult> createBookings(List<BookingDto> bookingDtos, Long userId) {
+        if (bookingDtos.isEmpty() || bookingDtos.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException(String.format("Размер пакета должен быть от 1 до %d, получено %d.",
+                    MAX_BATCH_SIZE, bookingDtos.size()));
+        }
+        boolean joined = TransactionSynchronizationManager.isActualTransactionActive();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return batchTransaction.execute(status -> insertBookings(bookingDtos, userId));
+            } catch (DataIntegrityViolationException e) {
+                if (joined || attempt >= MAX_BATCH_ATTEMPTS) {
+                    throw new DuplicateException("Часть бронирований пакета пересекается с уже существующими.");
+                }
+                log.warn("Пакет бронирований пересёкся с параллельной записью, повторная проверка. userId: {}", userId);
+            }
+        }
+    }
+
+    private List<BookingBatchResult> insertBookings(List<BookingDto> bookingDtos, Long userId) {
+        User booker = userService.getUser(userId);
+        Set<Long> itemIds = new TreeSet<>();
+        LocalDateTime from = null;
+        LocalDateTime to = null;
+        for (BookingDto bookingDto : bookingDtos) {
+            itemIds.add(bookingDto.getItemId());
+            if (bookingDto.getStart() != null && (from == null || bookingDto.getStart().isBefore(from))) {
+                from = bookingDto.getStart();
+            }
+            if (bookingDto.getEnd() != null && (to == null || bookingDto.getEnd().isAfter(to))) {
+                to = bookingDto.getEnd();
+            }
+        }
+        Map<Long, Item> items = new HashMap<>();
+        for (Item item : itemRepository.findAllLockedByIdIn(itemIds)) {
+            items.put(item.getId(), item);
+        }
+        Map<Long, List<Booking>> taken = new HashMap<>();
+        if (from != null && to != null) {
+            for (ItemBookingPeriod period : repository.findAllPeriodsByItem_IdInOverlapping(itemIds, BLOCKING_STATUSES,
+                    from, to)) {
+                taken.computeIfAbsent(period.getItemId(), id -> new ArrayList<>())
+                        .add(new Booking(period.getStart(), period.getEnd()));
+            }
+        }
+        BookingBatchResult[] results = new BookingBatchResult[bookingDtos.size()];
+        Map<Integer, Booking> accepted = new LinkedHashMap<>();
+        for (int i = 0; i < bookingDtos.size(); i++) {
+            try {
+                Booking booking = toBooking(bookingDtos.get(i), booker, items);
+                validationCheck(booking);
+                List<Booking> itemTaken = taken.computeIfAbsent(booking.getItem().getId(), id -> new ArrayList<>());
+                for (Booking other : itemTaken) {
+                    if (other.getStart().isBefore(booking.getEnd()) && other.getEnd().isAfter(booking.getStart())) {
+                        throw new DuplicateException(String.format("Предмет с id %d уже забронирован на это время.",
+                                booking.getItem().getId()));
+                    }
+                }
+                itemTaken.add(booking);
+                accepted.put(i, booking);
+            } catch (ValidationException e) {
+                results[i] = BookingBatchResult.failure(i, 400, e.getMessage());
+            } catch (NotFoundException e) {
+                results[i] = BookingBatchResult.failure(i, 404, e.getMessage());
+            } catch (DuplicateException e) {
+                results[i] = BookingBatchResult.failure(i, 409, e.getMessage());
+            }
+        }
+        repository.saveAll(accepted.values());
+        repository.flush();
+        for (Map.Entry<Integer, Booking> entry : accepted.entrySet()) {
+            results[entry.getKey()] = BookingBatchResult.success(entry.getKey(),
+                    BookingMapper.toBookingResponse(entry.getValue()));
+        }
+        afterCommit(() -> {
+            for (Booking booking : accepted.values()) {
+                suggestIndex.onBooked(booking.getItem().getId());
+                availabilityIndex.onBookingChanged(booking);
+            }
+        });
+        return Arrays.asList(results);
     }
 
     @Override
+    @Transactional
     public Booking updateBookingStatus(Long userId, Long bookingId, Boolean approved) {
         if (repository.findById(bookingId).isEmpty()) {
             throw new NotFoundException(String.format("Бронирования с id %d не существует.", bookingId));
@@ -49,14 +189,19 @@ public class BookingServiceImpl implements BookingService {
             throw new ValidationException("Статус уже подтверждён.");
         }
         if (approved) {
+            lockItem(booking.getItem().getId());
             booking.setStatus(BookingStatus.APPROVED);
+            overlapCheck(booking);
         } else {
             booking.setStatus(BookingStatus.REJECTED);
         }
-        return repository.save(booking);
+        Booking bookingSaved = save(booking);
+        afterCommit(() -> availabilityIndex.onBookingChanged(bookingSaved));
+        return bookingSaved;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Booking getBooking(Long userId, Long bookingId) {
         userService.getUser(userId);
         bookingUserCheck(userId, bookingId);
@@ -64,75 +209,89 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<Booking> getBookings(Long userId, String state, Integer from, Integer size) {
+    @Transactional(readOnly = true)
+    public List<BookingResponse> getBookings(Long userId, String state, Integer from, Integer size) {
         userService.getUser(userId);
-        List<Booking> bookings;
-        int fromPage = from / size;
-        PageRequest pageRequest = PageRequest.of(fromPage, size);
-        switch (state) {
-            case "ALL":
-                bookings = repository.findAllByBooker_IdOrderByStartDesc(userId, pageRequest);
-                break;
-            case "CURRENT":
-                bookings = repository.findAllByBooker_IdAndStartBeforeAndEndAfterOrderByStartDesc(userId,
-                        LocalDateTime.now(), LocalDateTime.now(), pageRequest);
-                break;
-            case "FUTURE":
-                bookings = repository.findAllByBooker_IdAndStartAfterOrderByStartDesc(userId, LocalDateTime.now(), pageRequest);
-                break;
-            case "PAST":
-                bookings = repository.findAllByBooker_IdAndEndBeforeOrderByStartDesc(userId, LocalDateTime.now(), pageRequest);
-                break;
-            case "WAITING":
-                bookings = repository.findAllByBooker_IdAndStatusOrderByStartDesc(userId, BookingStatus.WAITING, pageRequest);
-                break;
-            case "REJECTED":
-                bookings = repository.findAllByBooker_IdAndStatusOrderByStartDesc(userId, BookingStatus.REJECTED, pageRequest);
-                break;
-            default:
-                throw new ValidationException(String.format("Unknown state: %s", state));
-        }
-        return bookings;
+        return getBookings(BookingQuery.booker(userId, BookingState.parse(state), LocalDateTime.now()), from, size);
     }
 
     @Override
-    public List<Booking> getBookingsOwner(Long userId, String state, Integer from, Integer size) {
+    @Transactional(readOnly = true)
+    public List<BookingResponse> getBookingsOwner(Long userId, String state, Integer from, Integer size) {
         userService.getUser(userId);
-        List<Booking> bookings;
-        int fromPage = from / size;
-        PageRequest pageRequest = PageRequest.of(fromPage, size);
-        switch (state) {
-            case "ALL":
-                bookings = repository.findAllByItem_Owner_IdOrderByStartDesc(userId, pageRequest);
-                break;
-            case "CURRENT":
-                bookings = repository.findAllByItem_Owner_IdAndStartBeforeAndEndAfterOrderByStartDesc(
-                        userId, LocalDateTime.now(), LocalDateTime.now(), pageRequest);
-                break;
-            case "FUTURE":
-                bookings = repository.findAllByItem_Owner_IdAndStartAfterOrderByStartDesc(userId, LocalDateTime.now(), pageRequest);
-                break;
-            case "PAST":
-                bookings = repository.findAllByItem_Owner_IdAndEndBeforeOrderByStartDesc(userId, LocalDateTime.now(), pageRequest);
-                break;
-            case "WAITING":
-                bookings = repository.findAllByItem_Owner_IdAndStatusOrderByStartDesc(userId, BookingStatus.WAITING, pageRequest);
-                break;
-            case "REJECTED":
-                bookings = repository.findAllByItem_Owner_IdAndStatusOrderByStartDesc(userId, BookingStatus.REJECTED, pageRequest);
-                break;
-            default:
-                throw new ValidationException(String.format("Unknown state: %s", state));
-        }
-        return bookings;
+        return getBookings(BookingQuery.owner(userId, BookingState.parse(state), LocalDateTime.now()), from, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<BookingResponse> getBookingsAfter(Long userId, String state, String after, Integer size) {
+        userService.getUser(userId);
+        return getBookingsAfter(BookingQuery.booker(userId, BookingState.parse(state), LocalDateTime.now()),
+                after, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<BookingResponse> getBookingsOwnerAfter(Long userId, String state, String after, Integer size) {
+        userService.getUser(userId);
+        return getBookingsAfter(BookingQuery.owner(userId, BookingState.parse(state), LocalDateTime.now()),
+                after, size);
+    }
+
+    @Override
+    public StreamingResponseBody exportBookingsOwner(Long userId, Long ownerId, LocalDateTime since) {
+        userService.getUser(userId);
+        if (!userId.equals(ownerId)) {
+            throw new NotFoundException(String.format("Пользователь с id %d не может выгружать аренды владельца %d.",
+                    userId, ownerId));
+        }
+        boolean primary = ReplicaRoutingContext.isPrimaryForced();
+        return out -> ReplicaRoutingContext.runWith(primary, () -> exportTransaction.executeWithoutResult(status -> {
+            try (Stream<BookingResponse> bookings = repository.streamAllByItem_Owner_IdAndStartFrom(ownerId, since)) {
+                OutputStream buffer = new BufferedOutputStream(out);
+                Iterator<BookingResponse> iterator = bookings.iterator();
+                while (iterator.hasNext()) {
+                    buffer.write(exportWriter.writeValueAsBytes(iterator.next()));
+                    buffer.write('\n');
+                }
+                buffer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+    }
+
+    private List<BookingResponse> getBookings(BookingQuery query, Integer from, Integer size) {
+        OffsetPageRequest pageRequest = OffsetPageRequest.of(from, size);
+        countQuery(query, "offset");
+        return repository.findAllByQuery(query.page(pageRequest.getOffset(), pageRequest.getPageSize()));
+    }
+
+    private CursorPage<BookingResponse> getBookingsAfter(BookingQuery query, String after, Integer size) {
+        if (size <= 0) {
+            throw new ValidationException(String.format("Параметр size не может быть %d", size));
+        }
+        Cursor cursor = Cursor.parse(after);
+        LocalDateTime afterStart = cursor == null ? null : cursor.getKeyAsLocalDateTime();
+        Long afterId = cursor == null ? null : cursor.getId();
+        countQuery(query, "cursor");
+        List<BookingResponse> bookings = repository.findAllByQuery(query.after(afterStart, afterId, size + 1));
+        return CursorPage.of(bookings, size, booking -> Cursor.of(booking.getStart(), booking.getId()));
+    }
+
+    private void countQuery(BookingQuery query, String paging) {
+        meterRegistry.counter("shareit.booking.queries",
+                "role", query.isOwner() ? "owner" : "booker",
+                "state", query.getState().name(),
+                "paging", paging).increment();
     }
 
     private void validationCheck(Booking booking) {
         if (!booking.getItem().getAvailable()) {
             throw new ValidationException("Предмет должен быть доступен для бронирования.");
         }
-        if (booking.toString().contains("start=null") ||
-                booking.toString().contains("end=null") ||
+        if (booking.getStart() == null ||
+                booking.getEnd() == null ||
                 booking.getStart().isEqual(booking.getEnd()) ||
                 booking.getEnd().isBefore(booking.getStart()) ||
                 booking.getStart().isBefore(LocalDateTime.now()) ||
@@ -141,6 +300,41 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
+    private void overlapCheck(Booking booking) {
+        if (repository.existsByItem_IdAndIdNotAndStatusInAndStartBeforeAndEndAfter(booking.getItem().getId(),
+                booking.getId(), BLOCKING_STATUSES, booking.getEnd(), booking.getStart())) {
+            throw new DuplicateException(String.format("Предмет с id %d уже забронирован на это время.",
+                    booking.getItem().getId()));
+        }
+    }
+
+    private Booking save(Booking booking) {
+        try {
+            return repository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            throw new DuplicateException(String.format("Предмет с id %d уже забронирован на это время.",
+                    booking.getItem().getId()));
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private Item lockItem(Long itemId) {
+        return itemRepository.findLockedById(itemId)
+                .orElseThrow(() -> new NotFoundException(String.format("Предмет с id %d не существует.", itemId)));
+    }
+
     private void bookingUserCheck(Long userId, Long bookingId) {
         if (repository.findById(bookingId).isEmpty()) {
             throw new NotFoundException(String.format("Бронирования с id %d не существует.", bookingId));
@@ -151,14 +345,27 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
-    private Booking toBooking(BookingDto bookingDto, Long userId) {
-        if (itemRepository.findById(bookingDto.getItemId()).isEmpty()) {
+    private Booking toBooking(BookingDto bookingDto, User booker, Map<Long, Item> items) {
+        Item item = items.get(bookingDto.getItemId());
+        if (item == null) {
             throw new NotFoundException(String.format("Предмет с id %d не существует.", bookingDto.getItemId()));
         }
+        if (item.getOwner().getId() == booker.getId()) {
+            throw new NotFoundException(String.format("Нельзя взять в аренду свой же предмет. userId: %d", booker.getId()));
+        }
+        Booking booking = new Booking();
+        booking.setStart(bookingDto.getStart());
+        booking.setEnd(bookingDto.getEnd());
+        booking.setItem(item);
+        booking.setBooker(booker);
+        return booking;
+    }
+
+    private Booking toBooking(BookingDto bookingDto, Long userId) {
         Booking booking = new Booking();
         booking.setStart(bookingDto.getStart());
         booking.setEnd(bookingDto.getEnd());
-        booking.setItem(itemRepository.findById(bookingDto.getItemId()).get());
+        booking.setItem(lockItem(bookingDto.getItemId()));
         booking.setBooker(userService.getUser(userId));
         return booking;
     }
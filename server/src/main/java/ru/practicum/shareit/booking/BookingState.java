@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.exception.ValidationException;
+
+public enum BookingState {
+    ALL,
+    CURRENT,
+    FUTURE,
+    PAST,
+    WAITING,
+    APPROVED,
+    REJECTED;
+
+    public static BookingState parse(String state) {
+        for (BookingState value : values()) {
+            if (value.name().equalsIgnoreCase(state)) {
+                return value;
+            }
+        }
+        throw new ValidationException(String.format("Unknown state: %s", state));
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BookingBatchResult {
+    private int index;
+    private int status;
+    private BookingResponse booking;
+    private String error;
+
+    public static BookingBatchResult success(int index, BookingResponse booking) {
+        return new BookingBatchResult(index, 201, booking, null);
+    }
+
+    public static BookingBatchResult failure(int index, int status, String error) {
+        return new BookingBatchResult(index, status, null, error);
+    }
+}
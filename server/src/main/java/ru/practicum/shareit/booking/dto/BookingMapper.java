@@ -14,4 +14,16 @@ public class BookingMapper {
                         .build()
         );
     }
+
+    public static BookingResponse toBookingResponse(Booking booking) {
+        return new BookingResponse(
+                booking.getId(),
+                booking.getStart(),
+                booking.getEnd(),
+                booking.getStatus(),
+                booking.getBooker().getId(),
+                booking.getItem().getId(),
+                booking.getItem().getName()
+        );
+    }
 }
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(ReplicaRoutingConfig.REPLICA_URL_PROPERTY)
+public class ConsistencyTokenFilter extends OncePerRequestFilter {
+    private static final Duration MAX_WINDOW = Duration.ofMinutes(1);
+
+    private final long windowMillis;
+    private final long skewMillis;
+
+    public ConsistencyTokenFilter(@Value("${shareit.datasource.read-your-writes-window:5s}") Duration window,
+                                  @Value("${shareit.datasource.consistency-token-skew:1s}") Duration skew) {
+        if (window.compareTo(MAX_WINDOW) > 0) {
+            log.warn("Окно чтения своих записей {} больше допустимого, используется {}.", window, MAX_WINDOW);
+            window = MAX_WINDOW;
+        }
+        this.windowMillis = window.toMillis();
+        this.skewMillis = skew.toMillis();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!isRead(request) || isFresh(request.getHeader(ReplicaRoutingContext.CONSISTENCY_TOKEN_HEADER))) {
+            ReplicaRoutingContext.forcePrimary();
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingContext.clear();
+        }
+    }
+
+    private boolean isRead(HttpServletRequest request) {
+        return "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+    }
+
+    private boolean isFresh(String token) {
+        if (token == null || token.isBlank()) {
+            return false;
+        }
+        try {
+            long age = System.currentTimeMillis() - Long.parseLong(token.trim());
+            return age >= -skewMillis && age < windowMillis;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.List;
+
+public class ReplicaDataSources implements DisposableBean {
+    private final List<HikariDataSource> dataSources;
+
+    public ReplicaDataSources(List<HikariDataSource> dataSources) {
+        this.dataSources = dataSources;
+    }
+
+    public List<HikariDataSource> getDataSources() {
+        return dataSources;
+    }
+
+    @Override
+    public void destroy() {
+        for (HikariDataSource dataSource : dataSources) {
+            dataSource.close();
+        }
+    }
+}
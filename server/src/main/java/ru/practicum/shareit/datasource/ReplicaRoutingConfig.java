@@ -0,0 +1,70 @@
+package ru.practicum.shareit.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(ReplicaRoutingConfig.REPLICA_URL_PROPERTY)
+public class ReplicaRoutingConfig {
+    static final String REPLICA_URL_PROPERTY = "shareit.datasource.replicas[0].jdbc-url";
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(ReadWriteRoutingDataSource.PRIMARY);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaDataSources replicaDataSources(Environment environment, DataSourceProperties properties) {
+        List<HikariDataSource> replicas = Binder.get(environment)
+                .bind("shareit.datasource.replicas", Bindable.listOf(HikariDataSource.class))
+                .orElseGet(List::of);
+        for (int i = 0; i < replicas.size(); i++) {
+            HikariDataSource replica = replicas.get(i);
+            if (replica.getUsername() == null) {
+                replica.setUsername(properties.determineUsername());
+                replica.setPassword(properties.determinePassword());
+            }
+            if (replica.getDriverClassName() == null) {
+                replica.setDriverClassName(properties.determineDriverClassName());
+            }
+            if (replica.getPoolName() == null) {
+                replica.setPoolName(ReadWriteRoutingDataSource.REPLICA + i);
+            }
+            replica.setReadOnly(true);
+        }
+        return new ReplicaDataSources(replicas);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaDataSources replicaDataSources) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primaryDataSource,
+                replicaDataSources.getDataSources());
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public MeterBinder replicaPoolMetrics(ObjectProvider<ReplicaDataSources> replicaDataSources) {
+        return registry -> replicaDataSources.ifAvailable(replicas -> replicas.getDataSources().stream()
+                .filter(replica -> replica.getMetricRegistry() == null)
+                .forEach(replica -> replica.setMetricRegistry(registry)));
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.datasource;
+
+public final class ReplicaRoutingContext {
+    public static final String CONSISTENCY_TOKEN_HEADER = "X-Consistency-Token";
+
+    private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+    private ReplicaRoutingContext() {
+    }
+
+    public static void forcePrimary() {
+        PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static boolean isPrimaryForced() {
+        return PRIMARY.get() != null;
+    }
+
+    public static void clear() {
+        PRIMARY.remove();
+    }
+
+    public static void runWith(boolean primary, Runnable action) {
+        Boolean previous = PRIMARY.get();
+        if (primary) {
+            PRIMARY.set(Boolean.TRUE);
+        } else {
+            PRIMARY.remove();
+        }
+        try {
+            action.run();
+        } finally {
+            if (previous != null) {
+                PRIMARY.set(previous);
+            } else {
+                PRIMARY.remove();
+            }
+        }
+    }
+}
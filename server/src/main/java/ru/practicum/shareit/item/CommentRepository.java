@@ -1,12 +1,19 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.dto.ItemCommentView;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    @EntityGraph(attributePaths = "author")
     List<Comment> findAllByItem_Id(Long itemId);
 
-    List<List<Comment>> findAllByItem_Owner_Id(Long userId);
-}
\ No newline at end of file
+    @Query("select c.item.id as itemId, c.text as text, c.author.name as authorName " +
+            "from Comment c where c.item.id in :itemIds order by c.id")
+    List<ItemCommentView> findAllByItem_IdIn(Collection<Long> itemIds);
+}
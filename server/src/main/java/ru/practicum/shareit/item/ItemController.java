@@ -1,13 +1,19 @@
 package ru.practicum.shareit.item;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentShort;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResult;
 import ru.practicum.shareit.item.dto.ItemShort;
 import ru.practicum.shareit.item.model.Item;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Slf4j
@@ -27,6 +33,14 @@ public class ItemController {
         return itemService.createItem(userId, itemShort);
     }
 
+    @PostMapping("/import")
+    public ItemImportResult importItems(@RequestHeader(value = "X-Sharer-User-Id", required = false, defaultValue = "0")
+                                            Long userId,
+                                        InputStream body) {
+        log.info(String.format("Получен запрос на импорт товаров пользователя %d", userId));
+        return itemService.importItems(userId, body);
+    }
+
     @PostMapping("/{itemId}/comment")
     public CommentDto createComment(@RequestHeader(value = "X-Sharer-User-Id", required = false, defaultValue = "0")
                                         Long userId,
@@ -59,6 +73,14 @@ public class ItemController {
         return itemService.getItems(userId, from, size);
     }
 
+    @GetMapping(params = "after")
+    public ResponseEntity<List<ItemDto>> getItemsAfter(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                       @RequestParam("after") String after,
+                                                       @RequestParam(name = "size", required = false, defaultValue = "20") Integer size) {
+        log.info(String.format("Получен запрос на получение списка товаров после курсора %s", after));
+        return itemService.getItemsAfter(userId, after, size).toResponseEntity();
+    }
+
     @GetMapping("/search")
     public List<Item> getItemSearch(@RequestHeader("X-Sharer-User-Id") Long userId,
                               @RequestParam("text") String text,
@@ -67,4 +89,23 @@ public class ItemController {
         log.info(String.format("Получен запрос на получение товара по поиску: %s", text));
         return itemService.getItemSearch(userId, text, from, size);
     }
+
+    @GetMapping("/suggest")
+    public List<String> getItemSuggest(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                       @RequestParam("prefix") String prefix,
+                                       @RequestParam(name = "size", required = false, defaultValue = "10") Integer size) {
+        log.info(String.format("Получен запрос на подсказки по префиксу: %s", prefix));
+        return itemService.getItemSuggest(userId, prefix, size);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto getItemAvailability(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                   @PathVariable("itemId") Long itemId,
+                                                   @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                   LocalDateTime from,
+                                                   @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                   LocalDateTime to) {
+        log.info(String.format("Получен запрос на календарь занятости предмета с id %d с %s по %s", itemId, from, to));
+        return itemService.getItemAvailability(userId, itemId, from, to);
+    }
 }
@@ -1,21 +1,56 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.dto.ItemShort;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    @Override
+    @EntityGraph(Item.DETAIL_GRAPH)
+    Optional<Item> findById(Long id);
 
-    List<Item> findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCaseAndAvailableIsTrue(String textName,
-                                                                                                 String textDescription,
-                                                                                                 Pageable pageable
-    );
+    @Override
+    @EntityGraph(Item.DETAIL_GRAPH)
+    List<Item> findAllById(Iterable<Long> ids);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id = :id")
+    Optional<Item> findLockedById(Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id in :ids order by i.id")
+    List<Item> findAllLockedByIdIn(Collection<Long> ids);
+
+    @EntityGraph(Item.DETAIL_GRAPH)
+    @Query("select i from Item i where i.available = true " +
+            "and (upper(i.name) like upper(:pattern) escape '\\' " +
+            "or upper(i.description) like upper(:pattern) escape '\\') order by i.id")
+    List<Item> searchAvailable(String pattern, Pageable pageable);
+
+    @Query(value = "SELECT * FROM items i WHERE i.is_available " +
+            "AND (i.name ILIKE :pattern OR i.description ILIKE :pattern) ORDER BY i.id", nativeQuery = true)
+    List<Item> searchAvailableByTrigram(String pattern, Pageable pageable);
+
+    @EntityGraph(Item.DETAIL_GRAPH)
     List<Item> findAllByOwner_Id(Long userId, Pageable pageable);
 
-    List<Item> findAllByRequest_Id(Long requestId);
+    @EntityGraph(Item.DETAIL_GRAPH)
+    List<Item> findAllByOwner_IdAndIdGreaterThan(Long userId, Long id, Pageable pageable);
+
+    List<Item> findAllByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query("select new ru.practicum.shareit.item.dto.ItemShort(i.id, i.name, i.description, i.available, i.request.id) " +
+            "from Item i where i.request.id in :requestIds order by i.id")
+    List<ItemShort> findAllByRequest_IdIn(Collection<Long> requestIds);
 
     Item findFirstByRequest_Id(Long requestId);
 }
\ No newline at end of file
@@ -1,16 +1,23 @@
 package ru.practicum.shareit.item;
 
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.CommentShort;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResult;
 import ru.practicum.shareit.item.dto.ItemShort;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.CursorPage;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
     ItemShort createItem(Long userId, ItemShort itemShort);
 
+    ItemImportResult importItems(Long userId, InputStream body);
+
     CommentDto createComment(Long userId, Long itemId, CommentShort commentShort);
 
     Item updateItem(Long userId, Item item, Long itemId);
@@ -19,5 +26,11 @@ public interface ItemService {
 
     List<ItemDto> getItems(Long userId, Integer from, Integer size);
 
+    CursorPage<ItemDto> getItemsAfter(Long userId, String after, Integer size);
+
     List<Item> getItemSearch(Long userId, String text, Integer from, Integer size);
+
+    List<String> getItemSuggest(Long userId, String prefix, Integer size);
+
+    ItemAvailabilityDto getItemAvailability(Long userId, Long itemId, LocalDateTime from, LocalDateTime to);
 }
\ No newline at end of file
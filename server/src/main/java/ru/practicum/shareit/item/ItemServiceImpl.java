@@ -1,55 +1,181 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.availability.ItemAvailabilityIndex;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.search.ItemSuggestIndex;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
-import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserService;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.*;
 
+@Slf4j
 @Repository
 public class ItemServiceImpl implements ItemService {
 
+    private static final int IMPORT_CHUNK_SIZE = 1000;
+    private static final int IMPORT_MAX_ERRORS = 100;
+
     private final ItemRepository repository;
     private final UserService userService;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository requestRepository;
+    private final ItemSearchEngine searchEngine;
+    private final ItemSuggestIndex suggestIndex;
+    private final ItemAvailabilityIndex availabilityIndex;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
 
     public ItemServiceImpl(ItemRepository repository,
                            UserService userService,
                            BookingRepository bookingRepository,
-                           CommentRepository commentRepository, ItemRequestRepository requestRepository) {
+                           CommentRepository commentRepository, ItemRequestRepository requestRepository,
+                           ItemSearchEngine searchEngine,
+                           ItemSuggestIndex suggestIndex,
+                           ItemAvailabilityIndex availabilityIndex,
+                           ObjectMapper objectMapper,
+                           PlatformTransactionManager transactionManager) {
         this.repository = repository;
         this.userService = userService;
         this.bookingRepository = bookingRepository;
         this.commentRepository = commentRepository;
         this.requestRepository = requestRepository;
+        this.searchEngine = searchEngine;
+        this.suggestIndex = suggestIndex;
+        this.availabilityIndex = availabilityIndex;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
     public ItemShort createItem(Long userId, ItemShort itemShort) {
         validationCheck(userId, itemShort);
-        userService.getUser(userId);
         Item item = ItemMapper.toItem(itemShort);
         item.setOwner(userService.getUser(userId));
-        ItemRequest itemRequest = requestRepository.findFirstById(itemShort.getRequestId());
-        item.setRequest(itemRequest);
+        if (itemShort.getRequestId() != 0) {
+            item.setRequest(requestRepository.findFirstById(itemShort.getRequestId()));
+        }
         repository.save(item);
+        searchEngine.index(item);
+        suggestIndex.index(item);
         itemShort.setId(item.getId());
         return itemShort;
     }
 
+    @Override
+    public ItemImportResult importItems(Long userId, InputStream body) {
+        if (userId == 0) {
+            throw new ValidationException("Не был указан id пользователя.");
+        }
+        User owner = userService.getUser(userId);
+        ItemImportResult result = new ItemImportResult();
+        List<ItemShort> chunk = new ArrayList<>();
+        int index = 0;
+        int chunkStart = 0;
+        try (MappingIterator<JsonNode> records = objectMapper.readerFor(JsonNode.class).readValues(body)) {
+            while (records.hasNextValue()) {
+                JsonNode record = records.nextValue();
+                try {
+                    ItemShort itemShort = objectMapper.treeToValue(record, ItemShort.class);
+                    validationCheck(userId, itemShort);
+                    chunk.add(itemShort);
+                } catch (JsonProcessingException e) {
+                    reject(result, index, e.getOriginalMessage());
+                    chunk.add(null);
+                } catch (ValidationException e) {
+                    reject(result, index, e.getMessage());
+                    chunk.add(null);
+                }
+                index++;
+                if (chunk.size() == IMPORT_CHUNK_SIZE) {
+                    importChunk(owner, chunk, chunkStart, result);
+                    chunk.clear();
+                    chunkStart = index;
+                }
+            }
+        } catch (IOException e) {
+            reject(result, index, String.format("Не удалось разобрать запись: %s", e.getMessage()));
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(owner, chunk, chunkStart, result);
+        }
+        log.info(String.format("Импорт предметов пользователя %d: добавлено %d, отклонено %d",
+                userId, result.getImported(), result.getRejected()));
+        return result;
+    }
+
+    private void importChunk(User owner, List<ItemShort> chunk, int chunkStart, ItemImportResult result) {
+        List<Item> items = transactionTemplate.execute(status -> {
+            Set<Long> requestIds = new HashSet<>();
+            for (ItemShort itemShort : chunk) {
+                if (itemShort != null && itemShort.getRequestId() != 0) {
+                    requestIds.add(itemShort.getRequestId());
+                }
+            }
+            Set<Long> existingRequestIds = requestIds.isEmpty()
+                    ? Set.of() : requestRepository.findExistingIds(requestIds);
+            List<Item> newItems = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                ItemShort itemShort = chunk.get(i);
+                if (itemShort == null) {
+                    continue;
+                }
+                if (itemShort.getRequestId() != 0 && !existingRequestIds.contains(itemShort.getRequestId())) {
+                    reject(result, chunkStart + i,
+                            "Запрос на предмет с id " + itemShort.getRequestId() + " не найден.");
+                    continue;
+                }
+                Item item = ItemMapper.toItem(itemShort);
+                item.setOwner(owner);
+                if (itemShort.getRequestId() != 0) {
+                    item.setRequest(requestRepository.getReferenceById(itemShort.getRequestId()));
+                }
+                newItems.add(item);
+            }
+            List<Item> saved = repository.saveAll(newItems);
+            repository.flush();
+            return saved;
+        });
+        for (Item item : items) {
+            searchEngine.index(item);
+            suggestIndex.index(item);
+        }
+        result.setImported(result.getImported() + items.size());
+    }
+
+    private void reject(ItemImportResult result, int index, String error) {
+        result.setRejected(result.getRejected() + 1);
+        if (result.getErrors().size() < IMPORT_MAX_ERRORS) {
+            result.getErrors().add(new ItemImportResult.Error(index, error));
+        }
+    }
+
     @Override
     public CommentDto createComment(Long userId, Long itemId, CommentShort commentShort) {
         if (commentShort.getText().isBlank()) {
@@ -93,10 +219,14 @@ public class ItemServiceImpl implements ItemService {
         if (itemCurrent.getAvailable() != null) {
             itemUpdated.setAvailable(itemCurrent.getAvailable());
         }
-        return repository.save(itemUpdated);
+        Item itemSaved = repository.save(itemUpdated);
+        searchEngine.index(itemUpdated);
+        suggestIndex.index(itemUpdated);
+        return itemSaved;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ItemDto getItem(Long userId, Long itemId) {
         userService.getUser(userId);
         if (repository.findById(itemId).isEmpty()) {
@@ -132,72 +262,61 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemDto> getItems(Long userId, Integer from, Integer size) {
-        int fromPage = from / size;
-        PageRequest pageRequest = PageRequest.of(fromPage, size);
-        List<ItemDto> itemDtoList = new ArrayList<>();
-        List<List<CommentDto>> commentDto = new ArrayList<>();
-        List<List<Comment>> comments = commentRepository.findAllByItem_Owner_Id(userId);
-        for (List<Comment> comments1 : comments) {
-            for (Comment comment : comments1) {
-                commentDto.add(List.of(CommentMapper.toCommentDto(comment)));
-            }
+        OffsetPageRequest pageRequest = OffsetPageRequest.of(from, size, Sort.by("id"));
+        return toItemDtos(repository.findAllByOwner_Id(userId, pageRequest));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ItemDto> getItemsAfter(Long userId, String after, Integer size) {
+        if (size <= 0) {
+            throw new ValidationException(String.format("Параметр size не может быть %d", size));
         }
-        List<Booking> bookingsLastList = bookingRepository.findAllByItem_Owner_IdAndStartBeforeAndStatusOrderByStartDesc(
-                userId, LocalDateTime.now(), BookingStatus.APPROVED);
-        List<Booking> bookingsNextList = bookingRepository.findAllByItem_Owner_IdAndStartAfterAndStatusOrderByStartAsc(
-                userId, LocalDateTime.now(), BookingStatus.APPROVED);
-        if (!bookingsLastList.isEmpty() && !bookingsNextList.isEmpty()) {
-            if (bookingsNextList.size() > bookingsLastList.size()) {
-                while (bookingsNextList.size() != bookingsLastList.size()) {
-                    bookingsNextList.remove(bookingsNextList.size() - 1);
-                }
-            } else if (bookingsLastList.size() > bookingsNextList.size()) {
-                while (bookingsLastList.size() != bookingsNextList.size()) {
-                    bookingsLastList.remove(bookingsLastList.size() - 1);
-                }
-            }
-            if (comments.isEmpty()) {
-                for (Booking bookingNext : bookingsNextList) {
-                    for (Booking bookingLast : bookingsLastList) {
-                        itemDtoList.add(ItemMapper.toItemDto(bookingNext, bookingLast, null));
-                        for (Item item : repository.findAllByOwner_Id(userId, pageRequest)) {
-                            if (item.getId() != (bookingLast.getItem().getId() & bookingNext.getItem().getId()))
-                                itemDtoList.add(ItemMapper.toItemDto(item, null));
-                        }
-                    }
-                }
-            } else {
-                for (Booking bookingNext : bookingsNextList) {
-                    for (Booking bookingLast : bookingsLastList) {
-                        for (List<CommentDto> comments1 : commentDto) {
-                            itemDtoList.add(ItemMapper.toItemDto(bookingNext, bookingLast, comments1));
-                            for (Item item : repository.findAllByOwner_Id(userId, pageRequest)) {
-                                if (item.getId() != (bookingLast.getItem().getId() & bookingNext.getItem().getId()))
-                                    itemDtoList.add(ItemMapper.toItemDto(item, comments1));
-                            }
-                        }
-                    }
-                }
-            }
-            return itemDtoList;
-        } else {
-            if (comments.isEmpty()) {
-                for (Item item : repository.findAllByOwner_Id(userId, pageRequest)) {
-                    itemDtoList.add(ItemMapper.toItemDto(item, null));
-                }
+        Cursor cursor = Cursor.parse(after);
+        long afterId = cursor == null ? 0 : cursor.getId();
+        List<Item> items = repository.findAllByOwner_IdAndIdGreaterThan(userId, afterId,
+                PageRequest.of(0, size + 1, Sort.by("id")));
+        return CursorPage.of(items, size, item -> Cursor.of(item.getId())).map(this::toItemDtos);
+    }
+
+    private List<ItemDto> toItemDtos(List<Item> items) {
+        if (items.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> itemIds = new ArrayList<>();
+        for (Item item : items) {
+            itemIds.add(item.getId());
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, ItemBookingView> bookingsLast = new HashMap<>();
+        Map<Long, ItemBookingView> bookingsNext = new HashMap<>();
+        for (ItemBookingView booking : bookingRepository.findLastAndNextByItem_IdIn(
+                itemIds, now, BookingStatus.APPROVED.name())) {
+            if (booking.getStart().isBefore(now)) {
+                bookingsLast.put(booking.getItemId(), booking);
             } else {
-                for (List<CommentDto> comments1 : commentDto) {
-                    for (Item item : repository.findAllByOwner_Id(userId, pageRequest)) {
-                        itemDtoList.add(ItemMapper.toItemDto(item, comments1));
-                    }
-                }
+                bookingsNext.put(booking.getItemId(), booking);
             }
         }
+        Map<Long, List<CommentDto>> comments = new HashMap<>();
+        for (ItemCommentView comment : commentRepository.findAllByItem_IdIn(itemIds)) {
+            comments.computeIfAbsent(comment.getItemId(), id -> new ArrayList<>())
+                    .add(CommentMapper.toCommentDto(comment));
+        }
+        List<ItemDto> itemDtoList = new ArrayList<>();
+        for (Item item : items) {
+            itemDtoList.add(ItemMapper.toItemDto(item,
+                    bookingsLast.get(item.getId()),
+                    bookingsNext.get(item.getId()),
+                    comments.getOrDefault(item.getId(), new ArrayList<>())));
+        }
         return itemDtoList;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Item> getItemSearch(Long userId, String text, Integer from, Integer size) {
         if (from < 0) {
             throw new ValidationException(String.format("Параметр from не может быть %d", from));
@@ -205,12 +324,37 @@ public class ItemServiceImpl implements ItemService {
         if (size <= 0) {
             throw new ValidationException(String.format("Параметр size не может быть %d", from));
         }
-        int fromPage = from / size;
-        PageRequest pageRequest = PageRequest.of(fromPage, size);
+        OffsetPageRequest pageRequest = OffsetPageRequest.of(from, size);
         if (text.isBlank()) {
             return new ArrayList<>();
         }
-        return repository.findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCaseAndAvailableIsTrue(text, text, pageRequest);
+        return searchEngine.search(text, pageRequest);
+    }
+
+    @Override
+    public List<String> getItemSuggest(Long userId, String prefix, Integer size) {
+        if (size <= 0) {
+            throw new ValidationException(String.format("Параметр size не может быть %d", size));
+        }
+        return suggestIndex.suggest(prefix, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ItemAvailabilityDto getItemAvailability(Long userId, Long itemId, LocalDateTime from, LocalDateTime to) {
+        userService.getUser(userId);
+        if (!repository.existsById(itemId)) {
+            throw new NotFoundException(String.format("Предмет с id %d не существует.", itemId));
+        }
+        if (!from.isBefore(to)) {
+            throw new ValidationException("Начало периода должно быть раньше его конца.");
+        }
+        LocalDateTime start = from;
+        LocalDateTime now = LocalDateTime.now();
+        if (start.isBefore(now)) {
+            start = now.isBefore(to) ? now : to;
+        }
+        return availabilityIndex.getAvailability(itemId, start, to);
     }
 
     private void validationCheck(Long userId, ItemShort itemShort) {
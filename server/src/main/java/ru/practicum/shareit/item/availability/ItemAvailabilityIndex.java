@@ -0,0 +1,219 @@
+package ru.practicum.shareit.item.availability;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.datasource.ReplicaRoutingContext;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemBookingPeriod;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+public class ItemAvailabilityIndex {
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final Duration SWEEP_INTERVAL = Duration.ofMinutes(10);
+    private static final List<BookingStatus> BUSY_STATUSES = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+    private static final Comparator<Period> ORDER = Comparator.comparing((Period period) -> period.start)
+            .thenComparingLong(period -> period.bookingId);
+
+    private final BookingRepository bookingRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, ItemPeriods> items = new HashMap<>();
+    private final Map<Long, Period> bookings = new HashMap<>();
+    private LocalDateTime lastSweep = LocalDateTime.now();
+
+    public ItemAvailabilityIndex(BookingRepository bookingRepository) {
+        this.bookingRepository = bookingRepository;
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        ReplicaRoutingContext.runWith(true, this::load);
+    }
+
+    private void load() {
+        LocalDateTime now = LocalDateTime.now();
+        lock.writeLock().lock();
+        try {
+            items.clear();
+            bookings.clear();
+            lastSweep = now;
+            long lastId = 0;
+            List<ItemBookingPeriod> batch = bookingRepository.findAllPeriodsByStatusInAndEndAfter(BUSY_STATUSES, now,
+                    lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            while (!batch.isEmpty()) {
+                for (ItemBookingPeriod period : batch) {
+                    put(new Period(period.getId(), period.getItemId(), period.getStart(), period.getEnd()));
+                    lastId = period.getId();
+                }
+                batch = bookingRepository.findAllPeriodsByStatusInAndEndAfter(BUSY_STATUSES, now,
+                        lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Календарь занятости предметов построен, бронирований: {}", bookings.size());
+    }
+
+    public void onBookingChanged(Booking booking) {
+        LocalDateTime now = LocalDateTime.now();
+        lock.writeLock().lock();
+        try {
+            remove(booking.getId());
+            if (BUSY_STATUSES.contains(booking.getStatus())) {
+                put(new Period(booking.getId(), booking.getItem().getId(), booking.getStart(), booking.getEnd()));
+            }
+            if (now.isBefore(lastSweep.plus(SWEEP_INTERVAL))) {
+                prune(booking.getItem().getId(), now);
+            } else {
+                sweep(now);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public ItemAvailabilityDto getAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        List<ItemAvailabilityDto.Period> busy = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            ItemPeriods periods = items.get(itemId);
+            if (periods != null) {
+                LocalDateTime lowest = from.minus(periods.maxLength);
+                NavigableSet<Period> candidates = periods.periods.subSet(
+                        new Period(Long.MIN_VALUE, itemId, lowest, lowest), true,
+                        new Period(Long.MIN_VALUE, itemId, to, to), false);
+                for (Period period : candidates) {
+                    if (!period.end.isAfter(from)) {
+                        continue;
+                    }
+                    LocalDateTime start = period.start.isBefore(from) ? from : period.start;
+                    LocalDateTime end = period.end.isAfter(to) ? to : period.end;
+                    ItemAvailabilityDto.Period last = busy.isEmpty() ? null : busy.get(busy.size() - 1);
+                    if (last != null && !start.isAfter(last.getEnd())) {
+                        if (end.isAfter(last.getEnd())) {
+                            last.setEnd(end);
+                        }
+                    } else {
+                        busy.add(new ItemAvailabilityDto.Period(start, end));
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<ItemAvailabilityDto.Period> free = new ArrayList<>();
+        LocalDateTime cursor = from;
+        for (ItemAvailabilityDto.Period period : busy) {
+            if (period.getStart().isAfter(cursor)) {
+                free.add(new ItemAvailabilityDto.Period(cursor, period.getStart()));
+            }
+            cursor = period.getEnd();
+        }
+        if (cursor.isBefore(to)) {
+            free.add(new ItemAvailabilityDto.Period(cursor, to));
+        }
+        return new ItemAvailabilityDto(itemId, from, to, free, busy);
+    }
+
+    private void put(Period period) {
+        if (period.start == null || period.end == null || !period.end.isAfter(period.start)) {
+            return;
+        }
+        ItemPeriods periods = items.computeIfAbsent(period.itemId, id -> new ItemPeriods());
+        periods.periods.add(period);
+        Duration length = Duration.between(period.start, period.end);
+        if (length.compareTo(periods.maxLength) > 0) {
+            periods.maxLength = length;
+        }
+        bookings.put(period.bookingId, period);
+    }
+
+    private void remove(long bookingId) {
+        Period period = bookings.remove(bookingId);
+        if (period == null) {
+            return;
+        }
+        ItemPeriods periods = items.get(period.itemId);
+        periods.periods.remove(period);
+        if (periods.periods.isEmpty()) {
+            items.remove(period.itemId);
+        } else if (Duration.between(period.start, period.end).equals(periods.maxLength)) {
+            periods.updateMaxLength();
+        }
+    }
+
+    private void prune(long itemId, LocalDateTime now) {
+        ItemPeriods periods = items.get(itemId);
+        if (periods != null && prune(periods, now) && periods.periods.isEmpty()) {
+            items.remove(itemId);
+        }
+    }
+
+    private boolean prune(ItemPeriods periods, LocalDateTime now) {
+        boolean pruned = false;
+        Iterator<Period> iterator = periods.periods.iterator();
+        while (iterator.hasNext()) {
+            Period period = iterator.next();
+            if (!period.start.isBefore(now)) {
+                break;
+            }
+            if (!period.end.isAfter(now)) {
+                iterator.remove();
+                bookings.remove(period.bookingId);
+                pruned = true;
+            }
+        }
+        if (pruned) {
+            periods.updateMaxLength();
+        }
+        return pruned;
+    }
+
+    private void sweep(LocalDateTime now) {
+        int before = bookings.size();
+        items.values().removeIf(periods -> prune(periods, now) && periods.periods.isEmpty());
+        lastSweep = now;
+        log.debug("Из календаря занятости удалены завершившиеся бронирования: {}", before - bookings.size());
+    }
+
+    private static final class ItemPeriods {
+        private final TreeSet<Period> periods = new TreeSet<>(ORDER);
+        private Duration maxLength = Duration.ZERO;
+
+        private void updateMaxLength() {
+            maxLength = Duration.ZERO;
+            for (Period period : periods) {
+                Duration length = Duration.between(period.start, period.end);
+                if (length.compareTo(maxLength) > 0) {
+                    maxLength = length;
+                }
+            }
+        }
+    }
+
+    private static final class Period {
+        private final long bookingId;
+        private final long itemId;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+
+        private Period(long bookingId, long itemId, LocalDateTime start, LocalDateTime end) {
+            this.bookingId = bookingId;
+            this.itemId = itemId;
+            this.start = start;
+            this.end = end;
+        }
+    }
+}
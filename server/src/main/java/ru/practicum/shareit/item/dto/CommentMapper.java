@@ -15,4 +15,8 @@ public class CommentMapper {
     public static CommentDto toCommentDto(Comment comment) {
         return new CommentDto(comment.getText(), comment.getAuthor().getName());
     }
+
+    public static CommentDto toCommentDto(ItemCommentView comment) {
+        return new CommentDto(comment.getText(), comment.getAuthorName());
+    }
 }
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.item.dto;
+
+public interface ItemCommentView {
+    Long getItemId();
+
+    String getText();
+
+    String getAuthorName();
+}
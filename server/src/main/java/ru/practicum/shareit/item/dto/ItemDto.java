@@ -69,6 +69,27 @@ public class ItemDto {
         this.comments = comments;
     }
 
+    public ItemDto(Item item, ItemBookingView bookingLast, ItemBookingView bookingNext, List<CommentDto> comments) {
+        this.id = item.getId();
+        this.name = item.getName();
+        this.description = item.getDescription();
+        this.available = item.getAvailable();
+        this.owner = item.getOwner();
+        if (bookingLast != null) {
+            this.lastBooking.id = bookingLast.getId();
+            this.lastBooking.bookerId = bookingLast.getBookerId();
+        } else {
+            this.lastBooking = null;
+        }
+        if (bookingNext != null) {
+            this.nextBooking.id = bookingNext.getId();
+            this.nextBooking.bookerId = bookingNext.getBookerId();
+        } else {
+            this.nextBooking = null;
+        }
+        this.comments = comments;
+    }
+
     public ItemDto(String name, String description, Boolean available) {
         this.name = name;
         this.description = description;
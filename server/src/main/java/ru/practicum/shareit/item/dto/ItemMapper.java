@@ -23,6 +23,13 @@ public class ItemMapper {
         return new ItemDto(bookingLast, comments);
     }
 
+    public static ItemDto toItemDto(Item item,
+                                    ItemBookingView bookingLast,
+                                    ItemBookingView bookingNext,
+                                    List<CommentDto> comments) {
+        return new ItemDto(item, bookingLast, bookingNext, comments);
+    }
+
     public static Item toItem(ItemShort itemShort) {
         return new Item(itemShort.getName(), itemShort.getDescription(), itemShort.getAvailable());
     }
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "database", matchIfMissing = true)
+public class DatabaseItemSearchEngine implements ItemSearchEngine {
+
+    private final ItemRepository repository;
+    private final boolean trigramSearch;
+
+    public DatabaseItemSearchEngine(ItemRepository repository,
+                                    @Value("${shareit.search.trigram:false}") boolean trigramSearch) {
+        this.repository = repository;
+        this.trigramSearch = trigramSearch;
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        String pattern = toLikePattern(text);
+        if (trigramSearch) {
+            return repository.searchAvailableByTrigram(pattern, pageable);
+        }
+        return repository.searchAvailable(pattern, pageable);
+    }
+
+    @Override
+    public void index(Item item) {
+    }
+
+    private static String toLikePattern(String text) {
+        String escaped = text.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
@@ -0,0 +1,328 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.datasource.ReplicaRoutingContext;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.annotation.PostConstruct;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory")
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final ItemRepository repository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final NavigableMap<String, Set<String>> suffixes = new TreeMap<>();
+    private final Map<Long, Integer> docIds = new HashMap<>();
+    private final BitSet available = new BitSet();
+    private long[] itemIds = new long[16];
+    private int[] docLengths = new int[16];
+    private String[][] docTerms = new String[16][];
+    private int docCount;
+    private long totalLength;
+
+    public InMemoryItemSearchEngine(ItemRepository repository) {
+        this.repository = repository;
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        ReplicaRoutingContext.runWith(true, this::load);
+    }
+
+    private void load() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            suffixes.clear();
+            docIds.clear();
+            available.clear();
+            docCount = 0;
+            totalLength = 0;
+            long lastId = 0;
+            List<Item> batch = repository.findAllByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            while (!batch.isEmpty()) {
+                for (Item item : batch) {
+                    put(item);
+                    lastId = item.getId();
+                }
+                batch = repository.findAllByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Поисковый индекс предметов построен, документов: {}, термов: {}", docCount, postings.size());
+        log.warn("Поисковый индекс хранится в памяти одного узла: предметы, изменённые другими экземплярами сервера, "
+                + "в нём не появятся. Для нескольких узлов используйте shareit.search.engine=database.");
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        List<String> tokens = ItemTokenizer.tokenize(text);
+        if (tokens.isEmpty()) {
+            return new ArrayList<>();
+        }
+        long[] ids;
+        lock.readLock().lock();
+        try {
+            ids = rank(tokens, pageable);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (ids.length == 0) {
+            return new ArrayList<>();
+        }
+        List<Long> idList = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            idList.add(id);
+        }
+        Map<Long, Item> itemsById = new HashMap<>();
+        for (Item item : repository.findAllById(idList)) {
+            itemsById.put(item.getId(), item);
+        }
+        List<Item> items = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            Item item = itemsById.get(id);
+            if (item != null) {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
+    @Override
+    public void index(Item item) {
+        lock.writeLock().lock();
+        try {
+            put(item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private long[] rank(List<String> tokens, Pageable pageable) {
+        BitSet candidates = (BitSet) available.clone();
+        Set<String> matchedTerms = new HashSet<>();
+        List<Postings> matched = new ArrayList<>();
+        for (String token : tokens) {
+            BitSet tokenDocs = new BitSet(docCount);
+            for (Set<String> terms : suffixes.subMap(token, true, token + Character.MAX_VALUE, false).values()) {
+                for (String term : terms) {
+                    Postings termPostings = postings.get(term);
+                    termPostings.addTo(tokenDocs);
+                    if (matchedTerms.add(term)) {
+                        matched.add(termPostings);
+                    }
+                }
+            }
+            candidates.and(tokenDocs);
+            if (candidates.isEmpty()) {
+                return new long[0];
+            }
+        }
+        int[] docs = candidates.stream().toArray();
+        double[] scores = new double[docs.length];
+        double averageLength = Math.max(1.0, (double) totalLength / docCount);
+        for (Postings termPostings : matched) {
+            double idf = Math.log(1 + (docCount - termPostings.size + 0.5) / (termPostings.size + 0.5));
+            int i = 0;
+            int j = 0;
+            while (i < termPostings.size && j < docs.length) {
+                int doc = termPostings.docs[i];
+                if (doc < docs[j]) {
+                    i++;
+                } else if (doc > docs[j]) {
+                    j++;
+                } else {
+                    double tf = termPostings.freqs[i];
+                    double norm = K1 * (1 - B + B * docLengths[doc] / averageLength);
+                    scores[j] += idf * tf * (K1 + 1) / (tf + norm);
+                    i++;
+                    j++;
+                }
+            }
+        }
+        long offset = pageable.getOffset();
+        if (offset >= docs.length) {
+            return new long[0];
+        }
+        int limit = (int) Math.min(docs.length, offset + pageable.getPageSize());
+        long[] top = top(docs, scores, limit);
+        long[] ids = new long[limit - (int) offset];
+        for (int k = 0; k < ids.length; k++) {
+            ids[k] = itemIds[docs[(int) (0xFFFFFFFFL - (top[(int) offset + k] & 0xFFFFFFFFL))]];
+        }
+        return ids;
+    }
+
+    private static long[] top(int[] docs, double[] scores, int limit) {
+        long[] heap = new long[limit];
+        int size = 0;
+        for (int j = 0; j < docs.length; j++) {
+            long key = ((long) Float.floatToIntBits((float) scores[j]) << 32) | (0xFFFFFFFFL - j);
+            if (size < limit) {
+                heap[size] = key;
+                siftUp(heap, size++);
+            } else if (key > heap[0]) {
+                heap[0] = key;
+                siftDown(heap, size);
+            }
+        }
+        Arrays.sort(heap, 0, size);
+        for (int i = 0, k = size - 1; i < k; i++, k--) {
+            long swap = heap[i];
+            heap[i] = heap[k];
+            heap[k] = swap;
+        }
+        return heap;
+    }
+
+    private static void siftUp(long[] heap, int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (heap[parent] <= heap[index]) {
+                return;
+            }
+            long swap = heap[parent];
+            heap[parent] = heap[index];
+            heap[index] = swap;
+            index = parent;
+        }
+    }
+
+    private static void siftDown(long[] heap, int size) {
+        int index = 0;
+        while (true) {
+            int smallest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && heap[left] < heap[smallest]) {
+                smallest = left;
+            }
+            if (right < size && heap[right] < heap[smallest]) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            long swap = heap[smallest];
+            heap[smallest] = heap[index];
+            heap[index] = swap;
+            index = smallest;
+        }
+    }
+
+    private void put(Item item) {
+        Integer doc = docIds.get(item.getId());
+        if (doc == null) {
+            doc = docCount++;
+            if (doc == itemIds.length) {
+                itemIds = Arrays.copyOf(itemIds, doc * 2);
+                docLengths = Arrays.copyOf(docLengths, doc * 2);
+                docTerms = Arrays.copyOf(docTerms, doc * 2);
+            }
+            itemIds[doc] = item.getId();
+            docIds.put(item.getId(), doc);
+        } else {
+            for (String term : docTerms[doc]) {
+                Postings termPostings = postings.get(term);
+                termPostings.remove(doc);
+                if (termPostings.size == 0) {
+                    postings.remove(term);
+                    removeSuffixes(term);
+                }
+            }
+            totalLength -= docLengths[doc];
+        }
+        List<String> tokens = ItemTokenizer.tokenize(item.getName());
+        tokens.addAll(ItemTokenizer.tokenize(item.getDescription()));
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : tokens) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            Postings termPostings = postings.get(entry.getKey());
+            if (termPostings == null) {
+                termPostings = new Postings();
+                postings.put(entry.getKey(), termPostings);
+                addSuffixes(entry.getKey());
+            }
+            termPostings.add(doc, entry.getValue());
+        }
+        docTerms[doc] = frequencies.keySet().toArray(new String[0]);
+        docLengths[doc] = tokens.size();
+        totalLength += tokens.size();
+        available.set(doc, Boolean.TRUE.equals(item.getAvailable()));
+    }
+
+    private void addSuffixes(String term) {
+        for (int i = 0; i < term.length(); i++) {
+            suffixes.computeIfAbsent(term.substring(i), suffix -> new HashSet<>()).add(term);
+        }
+    }
+
+    private void removeSuffixes(String term) {
+        for (int i = 0; i < term.length(); i++) {
+            String suffix = term.substring(i);
+            Set<String> terms = suffixes.get(suffix);
+            terms.remove(term);
+            if (terms.isEmpty()) {
+                suffixes.remove(suffix);
+            }
+        }
+    }
+
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int[] freqs = new int[4];
+        private int size;
+
+        private void add(int doc, int freq) {
+            int index = Arrays.binarySearch(docs, 0, size, doc);
+            if (index >= 0) {
+                freqs[index] = freq;
+                return;
+            }
+            index = -index - 1;
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            System.arraycopy(docs, index, docs, index + 1, size - index);
+            System.arraycopy(freqs, index, freqs, index + 1, size - index);
+            docs[index] = doc;
+            freqs[index] = freq;
+            size++;
+        }
+
+        private void remove(int doc) {
+            int index = Arrays.binarySearch(docs, 0, size, doc);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(docs, index + 1, docs, index, size - index - 1);
+            System.arraycopy(freqs, index + 1, freqs, index, size - index - 1);
+            size--;
+        }
+
+        private void addTo(BitSet bits) {
+            for (int i = 0; i < size; i++) {
+                bits.set(docs[i]);
+            }
+        }
+    }
+}
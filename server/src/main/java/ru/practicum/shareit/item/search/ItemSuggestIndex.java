@@ -0,0 +1,236 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.datasource.ReplicaRoutingContext;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemBookingCount;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.annotation.PostConstruct;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+public class ItemSuggestIndex {
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final ItemRepository repository;
+    private final BookingRepository bookingRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private Node root = new Node();
+
+    public ItemSuggestIndex(ItemRepository repository, BookingRepository bookingRepository) {
+        this.repository = repository;
+        this.bookingRepository = bookingRepository;
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        ReplicaRoutingContext.runWith(true, this::load);
+    }
+
+    private void load() {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            root = new Node();
+            Map<Long, Long> bookings = new HashMap<>();
+            for (ItemBookingCount count : bookingRepository.countAllGroupByItem()) {
+                bookings.put(count.getItemId(), count.getBookings());
+            }
+            long lastId = 0;
+            List<Item> batch = repository.findAllByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            while (!batch.isEmpty()) {
+                for (Item item : batch) {
+                    Entry entry = new Entry();
+                    entry.bookings = bookings.getOrDefault(item.getId(), 0L);
+                    entries.put(item.getId(), entry);
+                    put(entry, item);
+                    lastId = item.getId();
+                }
+                batch = repository.findAllByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Индекс подсказок по названиям предметов построен, предметов: {}", entries.size());
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        List<String> suggestions = new ArrayList<>();
+        String lower = prefix.toLowerCase(Locale.ROOT);
+        int start = lower.length();
+        while (start > 0 && Character.isLetterOrDigit(lower.charAt(start - 1))) {
+            start--;
+        }
+        if (start == lower.length()) {
+            return suggestions;
+        }
+        String head = lower.substring(0, start);
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = start; i < lower.length() && node != null; i++) {
+                node = node.child(lower.charAt(i));
+            }
+            if (node == null || node.maxWeight == 0) {
+                return suggestions;
+            }
+            PriorityQueue<Candidate> queue = new PriorityQueue<>();
+            queue.add(new Candidate(node, false, node.maxWeight));
+            while (!queue.isEmpty() && suggestions.size() < limit) {
+                Candidate candidate = queue.poll();
+                if (candidate.terminal) {
+                    suggestions.add(head + candidate.node.term);
+                    continue;
+                }
+                if (candidate.node.weight > 0) {
+                    queue.add(new Candidate(candidate.node, true, candidate.node.weight));
+                }
+                for (Node child : candidate.node.children) {
+                    if (child.maxWeight > 0) {
+                        queue.add(new Candidate(child, false, child.maxWeight));
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return suggestions;
+    }
+
+    public void index(Item item) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = entries.computeIfAbsent(item.getId(), id -> new Entry());
+            put(entry, item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void onBooked(Long itemId) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = entries.get(itemId);
+            if (entry == null) {
+                return;
+            }
+            entry.bookings++;
+            if (entry.available) {
+                for (String term : entry.terms) {
+                    add(term, 1);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(Entry entry, Item item) {
+        for (String term : entry.terms) {
+            add(term, -entry.weight());
+        }
+        entry.terms = new LinkedHashSet<>(ItemTokenizer.tokenize(item.getName())).toArray(new String[0]);
+        entry.available = Boolean.TRUE.equals(item.getAvailable());
+        for (String term : entry.terms) {
+            add(term, entry.weight());
+        }
+    }
+
+    private void add(String term, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        Node[] path = new Node[term.length() + 1];
+        Node node = root;
+        path[0] = node;
+        for (int i = 0; i < term.length(); i++) {
+            Node child = node.child(term.charAt(i));
+            if (child == null) {
+                child = node.addChild(term.charAt(i));
+            }
+            node = child;
+            path[i + 1] = node;
+        }
+        node.term = term;
+        node.weight += delta;
+        for (int i = path.length - 1; i >= 0; i--) {
+            path[i].updateMaxWeight();
+        }
+    }
+
+    private static final class Entry {
+        private String[] terms = new String[0];
+        private boolean available;
+        private long bookings;
+
+        private long weight() {
+            return available ? bookings + 1 : 0;
+        }
+    }
+
+    private static final class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private String term;
+        private long weight;
+        private long maxWeight;
+
+        private Node child(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node addChild(char key) {
+            int index = -Arrays.binarySearch(keys, key) - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index, newKeys, index + 1, keys.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            Node child = new Node();
+            newKeys[index] = key;
+            newChildren[index] = child;
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+
+        private void updateMaxWeight() {
+            long max = weight;
+            for (Node child : children) {
+                max = Math.max(max, child.maxWeight);
+            }
+            maxWeight = max;
+        }
+    }
+
+    private static final class Candidate implements Comparable<Candidate> {
+        private final Node node;
+        private final boolean terminal;
+        private final long weight;
+
+        private Candidate(Node node, boolean terminal, long weight) {
+            this.node = node;
+            this.terminal = terminal;
+            this.weight = weight;
+        }
+
+        @Override
+        public int compareTo(Candidate other) {
+            if (weight != other.weight) {
+                return Long.compare(other.weight, weight);
+            }
+            return Boolean.compare(other.terminal, terminal);
+        }
+    }
+}
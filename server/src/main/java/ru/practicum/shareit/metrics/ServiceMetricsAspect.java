@@ -0,0 +1,56 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+    public static final String SERVICE_TIMER = "shareit.service";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Class<?>, String> serviceNames = new ConcurrentHashMap<>();
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * ru.practicum.shareit.item.ItemService+.*(..)) || " +
+            "execution(public * ru.practicum.shareit.booking.BookingService+.*(..)) || " +
+            "execution(public * ru.practicum.shareit.request.ItemRequestService+.*(..)) || " +
+            "execution(public * ru.practicum.shareit.user.UserService+.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(SERVICE_TIMER)
+                    .tag("service", serviceNames.computeIfAbsent(joinPoint.getTarget().getClass(), this::serviceName))
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    private String serviceName(Class<?> type) {
+        for (Class<?> serviceInterface : ClassUtils.getAllInterfacesForClassAsSet(type)) {
+            if (serviceInterface.getName().startsWith("ru.practicum.shareit.")
+                    && serviceInterface.getSimpleName().endsWith("Service")) {
+                return serviceInterface.getSimpleName();
+            }
+        }
+        return ClassUtils.getUserClass(type).getSimpleName();
+    }
+}
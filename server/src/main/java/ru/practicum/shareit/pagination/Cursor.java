@@ -0,0 +1,70 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.Getter;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+@Getter
+public class Cursor {
+    private static final char SEPARATOR = '|';
+
+    private final String key;
+    private final long id;
+
+    private Cursor(String key, long id) {
+        this.key = key;
+        this.id = id;
+    }
+
+    public static String of(long id) {
+        return encode(null, id);
+    }
+
+    public static String of(LocalDateTime key, long id) {
+        return encode(key.toString(), id);
+    }
+
+    public static String of(Instant key, long id) {
+        return encode(key.toString(), id);
+    }
+
+    public static Cursor parse(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(SEPARATOR);
+            String key = separator < 0 ? null : decoded.substring(0, separator);
+            return new Cursor(key, Long.parseLong(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException(String.format("Некорректный курсор: %s", token));
+        }
+    }
+
+    public LocalDateTime getKeyAsLocalDateTime() {
+        try {
+            return LocalDateTime.parse(key);
+        } catch (DateTimeParseException | NullPointerException e) {
+            throw new ValidationException(String.format("Некорректный курсор: %s", key));
+        }
+    }
+
+    public Instant getKeyAsInstant() {
+        try {
+            return Instant.parse(key);
+        } catch (DateTimeParseException | NullPointerException e) {
+            throw new ValidationException(String.format("Некорректный курсор: %s", key));
+        }
+    }
+
+    private static String encode(String key, long id) {
+        String raw = key == null ? String.valueOf(id) : key + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.request;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestShort;
@@ -42,6 +43,15 @@ public class ItemRequestController {
         return service.getItemRequests(userId, from, size);
     }
 
+    @GetMapping(value = "/all", params = "after")
+    public ResponseEntity<List<ItemRequestDto>> getItemRequestsAfter(@RequestHeader(value = "X-Sharer-User-Id", required = false, defaultValue = "0")
+                                                                         Long userId,
+                                                                     @RequestParam("after") String after,
+                                                                     @RequestParam(name = "size", defaultValue = "20") Integer size) {
+        log.info("Получен запрос на получение всех запросов после курсора {}, size = {}", after, size);
+        return service.getItemRequestsAfter(userId, after, size).toResponseEntity();
+    }
+
     @GetMapping("/{requestId}")
     public ItemRequestDto getItemRequest(@RequestHeader(value = "X-Sharer-User-Id", required = false, defaultValue = "0")
                                           Long userId,
@@ -2,14 +2,28 @@ package ru.practicum.shareit.request;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
     List<ItemRequest> findAllByRequester_IdNotOrderByCreatedDesc(Long userId, Pageable pageable);
 
+    List<ItemRequest> findAllByRequester_IdNotOrderByCreatedDescIdDesc(Long userId, Pageable pageable);
+
+    @Query("select r from ItemRequest r where r.requester.id <> :userId " +
+            "and (r.created < :created or (r.created = :created and r.id < :id)) " +
+            "order by r.created desc, r.id desc")
+    List<ItemRequest> findAllByRequester_IdNotAfter(Long userId, Instant created, Long id, Pageable pageable);
+
     List<ItemRequest> findAllByRequester_Id(Long userId);
 
     ItemRequest findFirstById(Long requestId);
+
+    @Query("select r.id from ItemRequest r where r.id in :ids")
+    Set<Long> findExistingIds(Collection<Long> ids);
 }
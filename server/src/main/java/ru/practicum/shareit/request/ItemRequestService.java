@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request;
 
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestShort;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -13,5 +14,7 @@ public interface ItemRequestService {
 
     List<ItemRequestDto> getItemRequests(Long userId, Integer from, Integer size);
 
+    CursorPage<ItemRequestDto> getItemRequestsAfter(Long userId, String after, Integer size);
+
     ItemRequestDto getItemRequest(Long userId, Long requestId);
 }
@@ -2,10 +2,15 @@ package ru.practicum.shareit.request;
 
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemShort;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestMapper;
 import ru.practicum.shareit.request.dto.ItemRequestShort;
@@ -14,7 +19,9 @@ import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserService;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class ItemRequestServiceImpl implements ItemRequestService {
@@ -41,34 +48,56 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemRequestDto> getItemRequestsOwn(Long userId) {
         userService.getUser(userId);
-        List<ItemRequestDto> itemRequestDtos = new ArrayList<>();
-        List<ItemRequest> itemRequests = repository.findAllByRequester_Id(userId);
-        if (itemRequests.isEmpty()) {
-            return new ArrayList<>();
-        }
-        for (ItemRequest itemRequest : itemRequests) {
-            List<Item> items = itemRepository.findAllByRequest_Id(itemRequest.getId());
-            if (!items.isEmpty()) {
-                itemRequestDtos.add(ItemRequestMapper.toItemRequestDto(itemRequest, items));
-            } else {
-                itemRequestDtos.add(ItemRequestMapper.toItemRequestDto(itemRequest));
-            }
-        }
-        return itemRequestDtos;
+        return toItemRequestDtos(repository.findAllByRequester_Id(userId));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemRequestDto> getItemRequests(Long userId, Integer from, Integer size) {
         userService.getUser(userId);
+        OffsetPageRequest pageRequest = OffsetPageRequest.of(from, size);
+        return toItemRequestDtos(repository.findAllByRequester_IdNotOrderByCreatedDesc(userId, pageRequest));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ItemRequestDto> getItemRequestsAfter(Long userId, String after, Integer size) {
+        userService.getUser(userId);
+        if (size <= 0) {
+            throw new ValidationException(String.format("Параметр size не может быть %d", size));
+        }
+        Cursor cursor = Cursor.parse(after);
+        PageRequest pageRequest = PageRequest.of(0, size + 1);
+        List<ItemRequest> itemRequests;
+        if (cursor == null) {
+            itemRequests = repository.findAllByRequester_IdNotOrderByCreatedDescIdDesc(userId, pageRequest);
+        } else {
+            itemRequests = repository.findAllByRequester_IdNotAfter(userId, cursor.getKeyAsInstant(), cursor.getId(),
+                    pageRequest);
+        }
+        return CursorPage.of(itemRequests, size, itemRequest -> Cursor.of(itemRequest.getCreated(), itemRequest.getId()))
+                .map(this::toItemRequestDtos);
+    }
+
+    private List<ItemRequestDto> toItemRequestDtos(List<ItemRequest> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> requestIds = new ArrayList<>();
+        for (ItemRequest itemRequest : itemRequests) {
+            requestIds.add(itemRequest.getId());
+        }
+        Map<Long, List<ItemShort>> itemsByRequest = new HashMap<>();
+        for (ItemShort item : itemRepository.findAllByRequest_IdIn(requestIds)) {
+            itemsByRequest.computeIfAbsent(item.getRequestId(), id -> new ArrayList<>()).add(item);
+        }
         List<ItemRequestDto> itemRequestDtos = new ArrayList<>();
-        int fromPage = from / size;
-        PageRequest pageRequest = PageRequest.of(fromPage, size);
-        List<ItemRequest> requestsIter = repository.findAllByRequester_IdNotOrderByCreatedDesc(userId, pageRequest);
-        for (ItemRequest itemRequest : requestsIter) {
-            List<Item> items = itemRepository.findAllByRequest_Id(itemRequest.getId());
-            if (!items.isEmpty()) {
+        for (ItemRequest itemRequest : itemRequests) {
+            List<ItemShort> items = itemsByRequest.get(itemRequest.getId());
+            if (items != null) {
                 itemRequestDtos.add(ItemRequestMapper.toItemRequestDto(itemRequest, items));
             } else {
                 itemRequestDtos.add(ItemRequestMapper.toItemRequestDto(itemRequest));
@@ -78,6 +107,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ItemRequestDto getItemRequest(Long userId, Long requestId) {
         userService.getUser(userId);
         ItemRequest itemRequest = repository.findFirstById(requestId);
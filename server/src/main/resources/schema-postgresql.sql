@@ -0,0 +1,40 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+CREATE INDEX IF NOT EXISTS ix_items_name_trgm ON items USING gin (name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS ix_items_description_trgm ON items USING gin (description gin_trgm_ops);
+
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_seq');
+SELECT setval('users_seq', max(id) + 1, false) FROM users
+HAVING max(id) + 1 > (SELECT CASE WHEN is_called THEN last_value + 50 ELSE last_value END FROM users_seq);
+
+ALTER TABLE requests ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE requests ALTER COLUMN id SET DEFAULT nextval('requests_seq');
+SELECT setval('requests_seq', max(id) + 1, false) FROM requests
+HAVING max(id) + 1 > (SELECT CASE WHEN is_called THEN last_value + 50 ELSE last_value END FROM requests_seq);
+
+ALTER TABLE items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE items ALTER COLUMN id SET DEFAULT nextval('items_seq');
+SELECT setval('items_seq', max(id) + 1, false) FROM items
+HAVING max(id) + 1 > (SELECT CASE WHEN is_called THEN last_value + 50 ELSE last_value END FROM items_seq);
+
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE bookings ALTER COLUMN id SET DEFAULT nextval('bookings_seq');
+SELECT setval('bookings_seq', max(id) + 1, false) FROM bookings
+HAVING max(id) + 1 > (SELECT CASE WHEN is_called THEN last_value + 50 ELSE last_value END FROM bookings_seq);
+
+ALTER TABLE comments ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE comments ALTER COLUMN id SET DEFAULT nextval('comments_seq');
+SELECT setval('comments_seq', max(id) + 1, false) FROM comments
+HAVING max(id) + 1 > (SELECT CASE WHEN is_called THEN last_value + 50 ELSE last_value END FROM comments_seq);
+
+CREATE INDEX IF NOT EXISTS ix_bookings_waiting_item_start ON bookings (item_id, start_date DESC) WHERE status = 'WAITING';
+
+DO 'BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ''ex_bookings_item_period'') THEN
+        ALTER TABLE bookings ADD CONSTRAINT ex_bookings_item_period
+            EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+            WHERE (status IN (''WAITING'', ''APPROVED''));
+    END IF;
+END';
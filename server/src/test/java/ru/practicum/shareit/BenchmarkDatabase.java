@@ -0,0 +1,70 @@
+package ru.practicum.shareit;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Properties;
+
+public class BenchmarkDatabase {
+    public static final String URL_PROPERTY = "shareit.benchmark.url";
+
+    public static Connection connect() throws SQLException {
+        return connect(new Properties());
+    }
+
+    public static Connection connect(Properties properties) throws SQLException {
+        properties.setProperty("user", System.getProperty("shareit.benchmark.username", "root"));
+        properties.setProperty("password", System.getProperty("shareit.benchmark.password", "root"));
+        Connection connection = DriverManager.getConnection(System.getProperty(URL_PROPERTY), properties);
+        if (isPostgres(connection)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET plan_cache_mode TO force_custom_plan");
+            }
+        }
+        return connection;
+    }
+
+    public static boolean isPostgres(Connection connection) throws SQLException {
+        return "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+    }
+
+    public static void initSchema(Connection connection) throws SQLException {
+        ScriptUtils.executeSqlScript(connection, new ClassPathResource("schema.sql"));
+        if (isPostgres(connection)) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("schema-postgresql.sql"));
+        }
+    }
+
+    public static long[] measure(PreparedStatement statement, int iterations) throws SQLException {
+        long[] nanos = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    resultSet.getLong(1);
+                }
+            }
+            nanos[i] = System.nanoTime() - start;
+        }
+        return nanos;
+    }
+
+    public static String percentiles(long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return String.format("p50=%.2fms p99=%.2fms max=%.2fms",
+                percentile(sorted, 0.50), percentile(sorted, 0.99), sorted[sorted.length - 1] / 1_000_000.0);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:booking-batch-flush")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BookingBatchFlushTest {
+
+    @SpyBean
+    private final BookingRepository bookingRepository;
+    private final BookingService service;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final ItemAvailabilityIndex availabilityIndex;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void beforeEach() {
+        User owner = userRepository.save(new User("owner", "owner@flush.test"));
+        booker = userRepository.save(new User("booker", "booker@flush.test"));
+        item = new Item("name", "description", true);
+        item.setOwner(owner);
+        itemRepository.save(item);
+        jdbcTemplate.execute("CREATE UNIQUE INDEX ux_bookings_item_start ON bookings (item_id, start_date)");
+    }
+
+    @AfterEach
+    void afterEach() {
+        jdbcTemplate.execute("DROP INDEX IF EXISTS ux_bookings_item_start");
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void createBookingsReportsEntriesFailingAtFlushTest() {
+        insertConcurrentBookingAfterOverlapCheck(start.plusHours(1));
+        List<BookingDto> bookingDtos = List.of(
+                booking(start.plusHours(3), start.plusHours(4)),
+                booking(start.plusHours(1), start.plusHours(2)),
+                booking(start.plusHours(5), start.plusHours(6)));
+
+        List<BookingBatchResult> results = service.createBookings(bookingDtos, booker.getId());
+
+        assertThat(results.get(0).getStatus(), equalTo(201));
+        assertThat(results.get(1).getStatus(), equalTo(409));
+        assertThat(results.get(1).getBooking(), nullValue());
+        assertThat(results.get(2).getStatus(), equalTo(201));
+        assertThat(results.get(1).getError(), containsString("уже забронирован"));
+        assertThat(bookingRepository.findAll(), hasSize(3));
+        assertThat(bookingRepository.findById(results.get(0).getBooking().getId()).isPresent(), equalTo(true));
+        assertThat(bookingRepository.findById(results.get(2).getBooking().getId()).isPresent(), equalTo(true));
+        assertThat(availabilityIndex.getAvailability(item.getId(), start, start.plusDays(1)).getBusy(), hasSize(2));
+    }
+
+    private void insertConcurrentBookingAfterOverlapCheck(LocalDateTime concurrentStart) {
+        TransactionTemplate concurrent = new TransactionTemplate(transactionManager);
+        concurrent.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        AtomicBoolean inserted = new AtomicBoolean();
+        doAnswer(invocation -> {
+            Object periods = mockingDetails(invocation.getMock()).getMockCreationSettings().getDefaultAnswer()
+                    .answer(invocation);
+            if (inserted.compareAndSet(false, true)) {
+                concurrent.executeWithoutResult(status -> {
+                    Booking booking = new Booking(concurrentStart, concurrentStart.plusMinutes(30));
+                    booking.setItem(item);
+                    booking.setBooker(booker);
+                    bookingRepository.save(booking);
+                });
+            }
+            return periods;
+        }).when(bookingRepository).findAllPeriodsByItem_IdInOverlapping(any(), any(), any(), any());
+    }
+
+    private BookingDto booking(LocalDateTime start, LocalDateTime end) {
+        return new BookingDto(0, start, end, null, item.getId());
+    }
+}
@@ -0,0 +1,129 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:shareit",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BookingBatchTest {
+
+    private final BookingService service;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
+    private final LocalDateTime start = LocalDateTime.now().plusDays(1);
+    private User owner;
+    private User booker;
+    private Item item;
+    private Item itemUnavailable;
+    private Item itemOwn;
+
+    @BeforeEach
+    void beforeEach() {
+        owner = userRepository.save(new User("owner", "owner@batch.test"));
+        booker = userRepository.save(new User("booker", "booker@batch.test"));
+        item = new Item("name", "description", true);
+        item.setOwner(owner);
+        itemRepository.save(item);
+        itemUnavailable = new Item("name", "description", false);
+        itemUnavailable.setOwner(owner);
+        itemRepository.save(itemUnavailable);
+        itemOwn = new Item("name", "description", true);
+        itemOwn.setOwner(booker);
+        itemRepository.save(itemOwn);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void createBookingsReportsEachEntryTest() {
+        List<BookingDto> bookingDtos = List.of(
+                booking(item.getId(), start, start.plusHours(2)),
+                booking(item.getId(), start.plusHours(1), start.plusHours(3)),
+                booking(99999L, start, start.plusHours(2)),
+                booking(itemUnavailable.getId(), start, start.plusHours(2)),
+                booking(itemOwn.getId(), start, start.plusHours(2)),
+                booking(item.getId(), start.plusHours(5), start.plusHours(4)),
+                booking(item.getId(), start.plusHours(2), start.plusHours(4)));
+
+        List<BookingBatchResult> results = service.createBookings(bookingDtos, booker.getId());
+
+        assertThat(results, hasSize(7));
+        assertThat(results.get(0).getStatus(), equalTo(201));
+        assertThat(results.get(0).getBooking().getItem().getId(), equalTo(item.getId()));
+        assertThat(results.get(1).getStatus(), equalTo(409));
+        assertThat(results.get(2).getStatus(), equalTo(404));
+        assertThat(results.get(3).getStatus(), equalTo(400));
+        assertThat(results.get(4).getStatus(), equalTo(404));
+        assertThat(results.get(5).getStatus(), equalTo(400));
+        assertThat(results.get(6).getStatus(), equalTo(201));
+        assertThat(results.get(6).getBooking().getId(), not(equalTo(results.get(0).getBooking().getId())));
+        assertThat(bookingRepository.count(), equalTo(2L));
+    }
+
+    @Test
+    void createBookingsRejectsExistingOverlapTest() {
+        service.createBookings(List.of(booking(item.getId(), start, start.plusHours(2))), booker.getId());
+
+        List<BookingBatchResult> results = service.createBookings(
+                List.of(booking(item.getId(), start.plusHours(1), start.plusHours(2))), booker.getId());
+
+        assertThat(results.get(0).getStatus(), equalTo(409));
+    }
+
+    @Test
+    void createBookingsBatchesInsertsTest() {
+        List<BookingDto> bookingDtos = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            bookingDtos.add(booking(item.getId(), start.plusHours(i), start.plusHours(i + 1)));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<BookingBatchResult> results = service.createBookings(bookingDtos, booker.getId());
+
+        assertThat(results, everyItem(hasProperty("status", equalTo(201))));
+        assertThat(statistics.getEntityInsertCount(), equalTo(200L));
+        assertThat(statistics.getPrepareStatementCount(), lessThan(20L));
+    }
+
+    @Test
+    void createBookingsThrowValidationExceptionTest() {
+        assertThrows(ValidationException.class, () -> service.createBookings(List.of(), booker.getId()));
+    }
+
+    private BookingDto booking(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return new BookingDto(0, start, end, null, itemId);
+    }
+}
@@ -0,0 +1,182 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.BookingQuery;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:shareit",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BookingFetchPlanTest {
+
+    private final BookingRepository bookingRepository;
+    private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    void beforeEach() {
+        owner = userRepository.save(new User("owner", "owner@fetch.plan"));
+        booker = userRepository.save(new User("booker", "booker@fetch.plan"));
+        User requester = userRepository.save(new User("requester", "requester@fetch.plan"));
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 5; i++) {
+            ItemRequest request = new ItemRequest();
+            request.setDescription("description" + i);
+            request.setRequester(requester);
+            request.setCreated(Instant.now());
+            itemRequestRepository.save(request);
+            Item item = new Item("name" + i, "description" + i, true);
+            item.setOwner(owner);
+            item.setRequest(request);
+            itemRepository.save(item);
+            Booking booking = new Booking();
+            booking.setStart(now.minusDays(i + 1));
+            booking.setEnd(now.plusDays(i + 1));
+            booking.setItem(item);
+            booking.setBooker(booker);
+            booking.setStatus(BookingStatus.WAITING);
+            bookingRepository.save(booking);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void bookerBookingsLoadWithOneStatementTest() {
+        assertLoadedWithOneStatement(() -> bookingRepository.findAllByQuery(
+                BookingQuery.booker(booker.getId(), BookingState.ALL, LocalDateTime.now()).page(0, 20)));
+    }
+
+    @Test
+    void ownerBookingsLoadWithOneStatementTest() {
+        assertLoadedWithOneStatement(() -> bookingRepository.findAllByQuery(
+                BookingQuery.owner(owner.getId(), BookingState.CURRENT, LocalDateTime.now()).page(0, 20)));
+    }
+
+    @Test
+    void cursorBookingsLoadWithOneStatementTest() {
+        assertLoadedWithOneStatement(() -> bookingRepository.findAllByQuery(
+                BookingQuery.owner(owner.getId(), BookingState.WAITING, LocalDateTime.now())
+                        .after(LocalDateTime.now().plusYears(1), 0L, 20)));
+    }
+
+    @Test
+    void bookingQueryReusesPlanPerStateTest() {
+        bookingRepository.findAllByQuery(BookingQuery.booker(owner.getId(), BookingState.APPROVED, LocalDateTime.now())
+                .page(0, 20));
+        Statistics statistics = statistics();
+
+        List<BookingResponse> approved = bookingRepository.findAllByQuery(
+                BookingQuery.booker(booker.getId(), BookingState.APPROVED, LocalDateTime.now()).page(5, 10));
+
+        assertThat(approved, empty());
+        assertThat(statistics.getQueryPlanCacheMissCount(), equalTo(0L));
+    }
+
+    @Test
+    void bookingLoadsWithOneStatementTest() {
+        Long bookingId = bookingRepository.findAllByQuery(
+                BookingQuery.booker(booker.getId(), BookingState.ALL, LocalDateTime.now()).page(0, 1)).get(0).getId();
+        Statistics statistics = statistics();
+
+        Booking booking = bookingRepository.findById(bookingId).orElseThrow();
+
+        assertThat(Hibernate.isInitialized(booking.getBooker()), is(true));
+        assertThat(Hibernate.isInitialized(booking.getItem().getOwner()), is(true));
+        assertThat(Hibernate.isInitialized(booking.getItem().getRequest().getRequester()), is(true));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(1L));
+    }
+
+    @Test
+    void exportStreamsOwnerBookingsWithoutEntitiesTest() throws IOException {
+        LocalDateTime since = LocalDateTime.now().minusDays(3).minusHours(12);
+        StreamingResponseBody body = bookingService.exportBookingsOwner(owner.getId(), owner.getId(), since);
+        Statistics statistics = statistics();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        body.writeTo(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines.length, equalTo(3));
+        List<String> names = new ArrayList<>();
+        for (String line : lines) {
+            names.add(objectMapper.readValue(line, BookingResponse.class).getItem().getName());
+        }
+        assertThat(names, contains("name2", "name1", "name0"));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(1L));
+        assertThat(statistics.getEntityLoadCount(), equalTo(0L));
+    }
+
+    @Test
+    void exportThrowNotFoundExceptionTest() {
+        assertThrows(NotFoundException.class,
+                () -> bookingService.exportBookingsOwner(booker.getId(), owner.getId(), LocalDateTime.now()));
+    }
+
+    private void assertLoadedWithOneStatement(Supplier<List<BookingResponse>> query) {
+        Statistics statistics = statistics();
+
+        List<BookingResponse> bookings = query.get();
+
+        assertThat(bookings, hasSize(5));
+        assertThat(bookings, everyItem(allOf(
+                hasProperty("booker", hasProperty("id", equalTo(booker.getId()))),
+                hasProperty("item", hasProperty("name", startsWith("name")))
+        )));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(1L));
+        assertThat(statistics.getEntityLoadCount(), equalTo(0L));
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSuggestIndex;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:booking-index")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BookingIndexTransactionTest {
+
+    private final BookingService service;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final ItemSuggestIndex suggestIndex;
+    private final ItemAvailabilityIndex availabilityIndex;
+    private final PlatformTransactionManager transactionManager;
+    private final LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    void beforeEach() {
+        String suffix = Long.toString(System.nanoTime());
+        owner = userRepository.save(new User("owner", "owner-" + suffix + "@index.test"));
+        booker = userRepository.save(new User("booker", "booker-" + suffix + "@index.test"));
+    }
+
+    @Test
+    void createBookingRollbackLeavesIndexesUnchangedTest() {
+        Item kayak = item("zqkayak");
+        Item kettle = item("zqkettle");
+        service.createBooking(booking(kayak, start, start.plusHours(2)), booker.getId());
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            service.createBooking(booking(kettle, start, start.plusHours(2)), booker.getId());
+            service.createBooking(booking(kettle, start.plusHours(3), start.plusHours(4)), booker.getId());
+            status.setRollbackOnly();
+        });
+
+        assertThat(suggestIndex.suggest("zq", 10), contains("zqkayak", "zqkettle"));
+        assertThat(availabilityIndex.getAvailability(kettle.getId(), start, start.plusDays(1)).getBusy(), empty());
+        assertThat(availabilityIndex.getAvailability(kayak.getId(), start, start.plusDays(1)).getBusy(), hasSize(1));
+    }
+
+    @Test
+    void updateBookingStatusRollbackLeavesIndexesUnchangedTest() {
+        Item canoe = item("zwcanoe");
+        Booking booking = service.createBooking(booking(canoe, start, start.plusHours(2)), booker.getId());
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            service.updateBookingStatus(owner.getId(), booking.getId(), false);
+            status.setRollbackOnly();
+        });
+
+        assertThat(availabilityIndex.getAvailability(canoe.getId(), start, start.plusDays(1)).getBusy(), hasSize(1));
+
+        service.updateBookingStatus(owner.getId(), booking.getId(), false);
+
+        assertThat(availabilityIndex.getAvailability(canoe.getId(), start, start.plusDays(1)).getBusy(), empty());
+    }
+
+    private Item item(String name) {
+        Item item = new Item(name, "description", true);
+        item.setOwner(owner);
+        itemRepository.save(item);
+        suggestIndex.index(item);
+        return item;
+    }
+
+    private BookingDto booking(Item item, LocalDateTime start, LocalDateTime end) {
+        return new BookingDto(0, start, end, null, item.getId());
+    }
+}
@@ -0,0 +1,114 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.BookingQuery;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:booking-query-concurrency")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BookingQueryConcurrencyTest {
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 20;
+
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    void beforeEach() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+        owner = userRepository.save(new User("owner", "owner@concurrency.test"));
+        booker = userRepository.save(new User("booker", "booker@concurrency.test"));
+        Item item = new Item("drill", "description", true);
+        item.setOwner(owner);
+        itemRepository.save(item);
+        BookingStatus[] statuses = BookingStatus.values();
+        for (int i = -10; i < 10; i++) {
+            Booking booking = new Booking(now.plusHours(i * 5L), now.plusHours(i * 5L + 7));
+            booking.setItem(item);
+            booking.setBooker(booker);
+            booking.setStatus(statuses[Math.floorMod(i, statuses.length)]);
+            bookingRepository.save(booking);
+        }
+    }
+
+    @Test
+    void concurrentQueriesReturnSameResultsAsSequentialTest() throws Exception {
+        List<BookingQuery> queries = new ArrayList<>();
+        for (BookingState state : BookingState.values()) {
+            queries.add(BookingQuery.booker(booker.getId(), state, now).page(0, 20));
+            queries.add(BookingQuery.owner(owner.getId(), state, now).page(0, 20));
+            queries.add(BookingQuery.booker(booker.getId(), state, now).after(now.plusHours(20), Long.MAX_VALUE, 20));
+            queries.add(BookingQuery.owner(owner.getId(), state, now).after(now.plusHours(20), Long.MAX_VALUE, 20));
+        }
+        Map<BookingQuery, List<Long>> expected = new HashMap<>();
+        for (BookingQuery query : queries) {
+            expected.put(query, ids(bookingRepository.findAllByQuery(query)));
+        }
+        assertThat(expected.get(queries.get(0)), hasSize(20));
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Callable<List<String>>> tasks = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                int shift = thread;
+                tasks.add(() -> {
+                    List<String> mismatches = new ArrayList<>();
+                    for (int round = 0; round < ROUNDS; round++) {
+                        for (int i = 0; i < queries.size(); i++) {
+                            BookingQuery query = queries.get((i + shift) % queries.size());
+                            List<Long> actual = ids(bookingRepository.findAllByQuery(query));
+                            if (!actual.equals(expected.get(query))) {
+                                mismatches.add(query + " -> " + actual);
+                            }
+                        }
+                    }
+                    return mismatches;
+                });
+            }
+            List<String> mismatches = new ArrayList<>();
+            for (Future<List<String>> future : executor.invokeAll(tasks)) {
+                mismatches.addAll(future.get());
+            }
+            assertThat(mismatches, empty());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<Long> ids(List<BookingResponse> bookings) {
+        return bookings.stream().map(BookingResponse::getId).collect(Collectors.toList());
+    }
+}
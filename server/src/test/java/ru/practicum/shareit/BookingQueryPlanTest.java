@@ -0,0 +1,228 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.BookingQuery;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.metrics.QueryCounter;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@EnabledIfSystemProperty(named = BenchmarkDatabase.URL_PROPERTY, matches = ".+")
+@SpringBootTest(properties = {
+        "spring.datasource.url=${shareit.benchmark.url}",
+        "spring.datasource.username=${shareit.benchmark.username:root}",
+        "spring.datasource.password=${shareit.benchmark.password:root}",
+        "spring.datasource.driver-class-name=",
+        "spring.sql.init.mode=never"
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BookingQueryPlanTest {
+    private static final int USERS = Integer.getInteger("shareit.benchmark.plan.users", 10_000);
+    private static final int ITEMS = Integer.getInteger("shareit.benchmark.plan.items", 100_000);
+    private static final int BOOKINGS = Integer.getInteger("shareit.benchmark.plan.bookings", 1_000_000);
+    private static final String EMAIL_SUFFIX = "@plan.shareit.local";
+    private static final String PLAN_ITEMS = "SELECT i.id, i.owner_id FROM items i WHERE i.name LIKE 'plan item %' ";
+    private static final int PAGE_SIZE = 20;
+
+    private static long bookerId;
+    private static long ownerId;
+    private static List<Long> itemIds;
+
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+
+    @BeforeAll
+    static void seed() throws SQLException {
+        try (Connection connection = BenchmarkDatabase.connect();
+             Statement statement = connection.createStatement()) {
+            BenchmarkDatabase.initSchema(connection);
+            long existing;
+            try (ResultSet resultSet = statement.executeQuery(
+                    "SELECT count(*) FROM users WHERE email LIKE '%" + EMAIL_SUFFIX + "'")) {
+                resultSet.next();
+                existing = resultSet.getLong(1);
+            }
+            if (existing == 0) {
+                connection.setAutoCommit(false);
+                statement.executeUpdate("INSERT INTO users (name, email) " +
+                        "SELECT 'plan ' || g, 'plan' || g || '" + EMAIL_SUFFIX + "' " +
+                        "FROM generate_series(1, " + USERS + ") g");
+                statement.executeUpdate("CREATE TEMP TABLE plan_users AS SELECT row_number() OVER (ORDER BY id) - 1 AS n, id " +
+                        "FROM users WHERE email LIKE '%" + EMAIL_SUFFIX + "'");
+                statement.executeUpdate("INSERT INTO items (name, description, is_available, owner_id) " +
+                        "SELECT 'plan item ' || g, 'plan item', true, u.id " +
+                        "FROM generate_series(1, " + ITEMS + ") g JOIN plan_users u ON u.n = g % " + USERS);
+                statement.executeUpdate("CREATE TEMP TABLE plan_items AS SELECT row_number() OVER (ORDER BY id) - 1 AS n, id " +
+                        "FROM items WHERE name LIKE 'plan item %'");
+                statement.executeUpdate("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) " +
+                        "SELECT now() - interval '2 years' + g * interval '1 minute', " +
+                        "now() - interval '2 years' + g * interval '1 minute' + interval '3 days', i.id, u.id, " +
+                        "(ARRAY['APPROVED', 'APPROVED', 'APPROVED', 'REJECTED', 'WAITING', 'CANCELED'])[1 + g % 6] " +
+                        "FROM generate_series(1, " + BOOKINGS + ") g " +
+                        "JOIN plan_items i ON i.n = (g::bigint * 7919) % " + ITEMS + " " +
+                        "JOIN plan_users u ON u.n = (g::bigint * 104729) % " + USERS);
+                connection.commit();
+                connection.setAutoCommit(true);
+                statement.execute("VACUUM ANALYZE");
+            }
+            bookerId = ids(statement, "SELECT b.booker_id FROM bookings b JOIN users u ON u.id = b.booker_id " +
+                    "WHERE u.email LIKE '%" + EMAIL_SUFFIX + "' LIMIT 1").get(0);
+            ownerId = ids(statement, "SELECT owner_id FROM (" + PLAN_ITEMS + "LIMIT 1) i").get(0);
+            itemIds = ids(statement, "SELECT i.id FROM (" + PLAN_ITEMS + "AND i.owner_id = " + ownerId + ") i " +
+                    "WHERE EXISTS (SELECT 1 FROM bookings b WHERE b.item_id = i.id) ORDER BY i.id LIMIT 3");
+        }
+        assertThat("bookings of the plan booker", count("SELECT count(*) FROM bookings WHERE booker_id = ?", bookerId),
+                greaterThan(0L));
+        assertThat("items of the plan owner", itemIds, hasSize(3));
+    }
+
+    @Test
+    void bookerQueriesUseIndexesTest() throws SQLException {
+        LocalDateTime now = LocalDateTime.now();
+        assertQueryUsesIndexes(() -> findAll(BookingQuery.booker(bookerId, BookingState.ALL, now)),
+                bookerId, PAGE_SIZE);
+        assertQueryUsesIndexes(() -> findAll(BookingQuery.booker(bookerId, BookingState.REJECTED, now)),
+                bookerId, BookingStatus.REJECTED, PAGE_SIZE);
+        assertQueryUsesIndexes(() -> findAll(BookingQuery.booker(bookerId, BookingState.CURRENT, now)),
+                bookerId, now, now, PAGE_SIZE);
+        assertQueryUsesIndexes(() -> findAll(BookingQuery.booker(bookerId, BookingState.FUTURE, now)),
+                bookerId, now, PAGE_SIZE);
+        assertQueryUsesIndexes(() -> findAll(BookingQuery.booker(bookerId, BookingState.PAST, now)),
+                bookerId, now, PAGE_SIZE);
+        assertQueryUsesIndexes(() -> bookingRepository.findFirstByBooker_IdAndEndAfterOrderByStartDesc(bookerId, now),
+                bookerId, now, 1);
+        assertQueryUsesIndexes(() -> bookingRepository.findAllByQuery(BookingQuery.booker(bookerId, BookingState.ALL, now)
+                        .after(now, 1L, PAGE_SIZE + 1)),
+                bookerId, now, now, 1L, PAGE_SIZE + 1);
+    }
+
+    @Test
+    void ownerQueriesUseIndexesTest() throws SQLException {
+        LocalDateTime now = LocalDateTime.now();
+        assertQueryUsesIndexes(() -> findAll(BookingQuery.owner(ownerId, BookingState.ALL, now)),
+                ownerId, PAGE_SIZE);
+        assertQueryUsesIndexes(() -> findAll(BookingQuery.owner(ownerId, BookingState.WAITING, now)),
+                ownerId, BookingStatus.WAITING, PAGE_SIZE);
+        assertQueryUsesIndexes(() -> findAll(BookingQuery.owner(ownerId, BookingState.CURRENT, now)),
+                ownerId, now, now, PAGE_SIZE);
+        assertQueryUsesIndexes(() -> findAll(BookingQuery.owner(ownerId, BookingState.FUTURE, now)),
+                ownerId, now, PAGE_SIZE);
+        assertQueryUsesIndexes(() -> findAll(BookingQuery.owner(ownerId, BookingState.PAST, now)),
+                ownerId, now, PAGE_SIZE);
+        assertQueryUsesIndexes(() -> itemRepository.findAllByOwner_Id(ownerId,
+                        OffsetPageRequest.of(0, PAGE_SIZE, Sort.by("id"))),
+                ownerId, PAGE_SIZE);
+    }
+
+    @Test
+    void itemQueriesUseIndexesTest() throws SQLException {
+        LocalDateTime now = LocalDateTime.now();
+        long itemId = itemIds.get(0);
+        assertQueryUsesIndexes(() -> bookingRepository.findFirst2ByItem_IdAndStartBeforeAndStatusOrderByStartDesc(
+                        itemId, now, BookingStatus.APPROVED),
+                itemId, now, BookingStatus.APPROVED, 2);
+        assertQueryUsesIndexes(() -> bookingRepository.findFirst2ByItem_IdAndStartGreaterThanEqualAndStatusOrderByStartAsc(
+                        itemId, now, BookingStatus.APPROVED),
+                itemId, now, BookingStatus.APPROVED, 2);
+        assertQueryUsesIndexes(() -> bookingRepository.findLastAndNextByItem_IdIn(itemIds, now,
+                        BookingStatus.APPROVED.name()),
+                now, now, itemIds.get(0), itemIds.get(1), itemIds.get(2), BookingStatus.APPROVED);
+        assertQueryUsesIndexes(() -> bookingRepository.existsByItem_IdAndIdNotAndStatusInAndStartBeforeAndEndAfter(
+                        itemId, 0L, List.of(BookingStatus.WAITING, BookingStatus.APPROVED), now.plusDays(3), now),
+                itemId, 0L, BookingStatus.WAITING, BookingStatus.APPROVED, now.plusDays(3), now, 1);
+    }
+
+    private void findAll(BookingQuery query) {
+        bookingRepository.findAllByQuery(query.page(0, PAGE_SIZE));
+    }
+
+    private static void assertQueryUsesIndexes(Runnable query, Object... parameters) throws SQLException {
+        List<String> statements;
+        QueryCounter.record();
+        try {
+            query.run();
+            statements = QueryCounter.statements();
+        } finally {
+            QueryCounter.clear();
+        }
+        assertThat(statements, hasSize(1));
+        String sql = statements.get(0);
+        assertThat(sql, sql.chars().filter(c -> c == '?').count(), is((long) parameters.length));
+        assertNoSequentialScan(sql, parameters);
+    }
+
+    private static List<Long> ids(Statement statement, String sql) throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            while (resultSet.next()) {
+                ids.add(resultSet.getLong(1));
+            }
+        }
+        assertThat(sql, ids, not(empty()));
+        return ids;
+    }
+
+    private static long count(String sql, Object... parameters) throws SQLException {
+        try (Connection connection = BenchmarkDatabase.connect();
+             PreparedStatement statement = prepare(connection, sql, parameters);
+             ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static PreparedStatement prepare(Connection connection, String sql, Object... parameters)
+            throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql);
+        for (int i = 0; i < parameters.length; i++) {
+            Object parameter = parameters[i];
+            if (parameter instanceof LocalDateTime) {
+                statement.setTimestamp(i + 1, Timestamp.valueOf((LocalDateTime) parameter));
+            } else if (parameter instanceof Enum) {
+                statement.setString(i + 1, ((Enum<?>) parameter).name());
+            } else {
+                statement.setObject(i + 1, parameter);
+            }
+        }
+        return statement;
+    }
+
+    private static void assertNoSequentialScan(String sql, Object... parameters) throws SQLException {
+        List<String> sequentialScans = new ArrayList<>();
+        StringBuilder plan = new StringBuilder();
+        try (Connection connection = BenchmarkDatabase.connect();
+             PreparedStatement statement = prepare(connection, "EXPLAIN " + sql, parameters);
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                String line = resultSet.getString(1);
+                plan.append(line).append(System.lineSeparator());
+                if (line.contains("Seq Scan on bookings") || line.contains("Seq Scan on items")) {
+                    sequentialScans.add(line.trim());
+                }
+            }
+        }
+        System.out.printf("%s%n%s%n", sql, plan);
+        assertThat(sequentialScans, empty());
+    }
+}
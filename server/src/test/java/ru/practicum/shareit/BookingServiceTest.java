@@ -9,13 +9,18 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingState;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.exception.DuplicateException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
@@ -30,6 +35,10 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.eq;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 @SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:shareit", webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @Transactional
@@ -73,10 +82,10 @@ public class BookingServiceTest {
         when(userRepository.findById(any()))
                 .thenReturn(Optional.ofNullable(user1));
 
-        when(itemRepository.findById(any()))
+        when(itemRepository.findLockedById(any()))
                 .thenReturn(Optional.ofNullable(item));
 
-        when(repository.save(any()))
+        when(repository.saveAndFlush(any()))
                 .thenReturn(bookingFuture);
 
         Booking booking = service.createBooking(BookingMapper.toBookingDto(bookingFuture), user1.getId());
@@ -95,7 +104,7 @@ public class BookingServiceTest {
         when(userRepository.findById(any()))
                 .thenReturn(Optional.ofNullable(user));
 
-        when(itemRepository.findById(any()))
+        when(itemRepository.findLockedById(any()))
                 .thenReturn(Optional.ofNullable(item));
 
         assertThrows(NotFoundException.class, () -> service.createBooking(BookingMapper.toBookingDto(bookingFuture), 1L));
@@ -111,7 +120,7 @@ public class BookingServiceTest {
         when(userRepository.findById(any()))
                 .thenReturn(Optional.ofNullable(user1));
 
-        when(itemRepository.findById(any()))
+        when(itemRepository.findLockedById(any()))
                 .thenReturn(Optional.ofNullable(item));
 
         assertThrows(ValidationException.class, () -> service.createBooking(BookingMapper.toBookingDto(bookingFuture), user1.getId()));
@@ -126,7 +135,7 @@ public class BookingServiceTest {
         when(userRepository.findById(any()))
                 .thenReturn(Optional.ofNullable(user1));
 
-        when(itemRepository.findById(any()))
+        when(itemRepository.findLockedById(any()))
                 .thenReturn(Optional.ofNullable(item));
 
         assertThrows(ValidationException.class, () -> service.createBooking(BookingMapper.toBookingDto(bookingVeryPast), user1.getId()));
@@ -153,7 +162,10 @@ public class BookingServiceTest {
         when(repository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(bookingFuture));
 
-        when(repository.save(any()))
+        when(itemRepository.findLockedById(any()))
+                .thenReturn(Optional.ofNullable(item));
+
+        when(repository.saveAndFlush(any()))
                 .thenReturn(bookingFuture);
 
         Booking booking = service.updateBookingStatus(user.getId(), 1L, true);
@@ -162,6 +174,45 @@ public class BookingServiceTest {
         assertThat(booking.getStatus(), equalTo(BookingStatus.APPROVED));
     }
 
+    @Test
+    void createBookingThrowOverlapExceptionTest() {
+        item.setOwner(user);
+        bookingFuture.setBooker(user1);
+        bookingFuture.setItem(item);
+
+        when(userRepository.findById(any()))
+                .thenReturn(Optional.ofNullable(user1));
+
+        when(itemRepository.findLockedById(any()))
+                .thenReturn(Optional.ofNullable(item));
+
+        when(repository.existsByItem_IdAndIdNotAndStatusInAndStartBeforeAndEndAfter(eq(item.getId()), any(), any(),
+                eq(bookingFuture.getEnd()), eq(bookingFuture.getStart())))
+                .thenReturn(true);
+
+        assertThrows(DuplicateException.class, () -> service.createBooking(BookingMapper.toBookingDto(bookingFuture), user1.getId()));
+        verify(repository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void updateBookingStatusThrowOverlapExceptionTest() {
+        item.setOwner(user);
+        bookingFuture.setBooker(user1);
+        bookingFuture.setItem(item);
+        bookingFuture.setStatus(BookingStatus.REJECTED);
+
+        when(repository.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(bookingFuture));
+
+        when(itemRepository.findLockedById(any()))
+                .thenReturn(Optional.ofNullable(item));
+
+        when(repository.existsByItem_IdAndIdNotAndStatusInAndStartBeforeAndEndAfter(any(), any(), any(), any(), any()))
+                .thenReturn(true);
+
+        assertThrows(DuplicateException.class, () -> service.updateBookingStatus(user.getId(), 1L, true));
+    }
+
     @Test
     void updateBookingStatusThrowBookingNotFoundExceptionTest() {
         assertThrows(NotFoundException.class, () -> service.updateBookingStatus(1L, 99L, true));
@@ -177,7 +228,7 @@ public class BookingServiceTest {
         when(repository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(bookingFuture));
 
-        when(repository.save(any()))
+        when(repository.saveAndFlush(any()))
                 .thenReturn(bookingFuture);
 
         assertThrows(ValidationException.class, () -> service.updateBookingStatus(1L, 1L, true));
@@ -233,10 +284,10 @@ public class BookingServiceTest {
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
 
-        when(repository.findAllByBooker_IdOrderByStartDesc(anyLong(), any()))
-                .thenReturn(List.of(bookingPast));
+        when(repository.findAllByQuery(argThat(query -> query.getState() == BookingState.ALL)))
+                .thenReturn(List.of(response(bookingPast)));
 
-        List<Booking> bookings = service.getBookings(user.getId(), "ALL", 0, 20);
+        List<BookingResponse> bookings = service.getBookings(user.getId(), "ALL", 0, 20);
 
         assertThat(bookings, hasSize(1));
     }
@@ -246,10 +297,10 @@ public class BookingServiceTest {
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
 
-        when(repository.findAllByBooker_IdAndStartBeforeAndEndAfterOrderByStartDesc(anyLong(), any(), any(), any()))
-                .thenReturn(List.of(bookingPast));
+        when(repository.findAllByQuery(argThat(query -> query.getState() == BookingState.CURRENT)))
+                .thenReturn(List.of(response(bookingPast)));
 
-        List<Booking> bookings = service.getBookings(user.getId(), "CURRENT", 0, 20);
+        List<BookingResponse> bookings = service.getBookings(user.getId(), "CURRENT", 0, 20);
 
         assertThat(bookings, hasSize(1));
     }
@@ -259,10 +310,10 @@ public class BookingServiceTest {
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
 
-        when(repository.findAllByBooker_IdAndStartAfterOrderByStartDesc(anyLong(), any(), any()))
-                .thenReturn(List.of(bookingFuture));
+        when(repository.findAllByQuery(argThat(query -> query.getState() == BookingState.FUTURE)))
+                .thenReturn(List.of(response(bookingFuture)));
 
-        List<Booking> bookings = service.getBookings(user.getId(), "FUTURE", 0, 20);
+        List<BookingResponse> bookings = service.getBookings(user.getId(), "FUTURE", 0, 20);
 
         assertThat(bookings, hasSize(1));
     }
@@ -272,11 +323,77 @@ public class BookingServiceTest {
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
 
-        when(repository.findAllByBooker_IdAndEndBeforeOrderByStartDesc(anyLong(), any(), any()))
-                .thenReturn(List.of(bookingPast));
+        when(repository.findAllByQuery(argThat(query -> query.getState() == BookingState.PAST)))
+                .thenReturn(List.of(response(bookingPast)));
 
-        List<Booking> bookings = service.getBookings(user.getId(), "PAST", 0, 20);
+        List<BookingResponse> bookings = service.getBookings(user.getId(), "PAST", 0, 20);
 
         assertThat(bookings, hasSize(1));
     }
+
+    @Test
+    void getBookingsAfterTest() {
+        bookingFuture.setId(3L);
+        bookingPast.setId(2L);
+        bookingVeryPast.setId(1L);
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(user));
+
+        BookingResponse responseFuture = response(bookingFuture);
+        BookingResponse responsePast = response(bookingPast);
+        when(repository.findAllByQuery(argThat(query -> !query.isOwner() && query.getState() == BookingState.ALL
+                && query.getLimit() == 3)))
+                .thenReturn(List.of(responseFuture, responsePast, response(bookingVeryPast)));
+
+        CursorPage<BookingResponse> page = service.getBookingsAfter(user.getId(), "ALL", "", 2);
+
+        assertThat(page.getContent(), contains(responseFuture, responsePast));
+        assertThat(page.getNextCursor(), equalTo(Cursor.of(bookingPast.getStart(), bookingPast.getId())));
+
+        service.getBookingsAfter(user.getId(), "ALL", page.getNextCursor(), 2);
+
+        verify(repository).findAllByQuery(argThat(query -> query.getUserId() == user.getId()
+                && bookingPast.getStart().equals(query.getAfterStart())
+                && query.getAfterId() == bookingPast.getId() && query.getLimit() == 3));
+    }
+
+    @Test
+    void getBookingsOwnerAfterLastPageTest() {
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(user));
+
+        when(repository.findAllByQuery(argThat(query -> query.isOwner() && query.getState() == BookingState.WAITING
+                && query.getLimit() == 21)))
+                .thenReturn(List.of(response(bookingFuture)));
+
+        CursorPage<BookingResponse> page = service.getBookingsOwnerAfter(user.getId(), "WAITING", "", 20);
+
+        assertThat(page.getContent(), hasSize(1));
+        assertThat(page.getNextCursor(), nullValue());
+    }
+
+    @Test
+    void getBookingsAfterThrowValidationExceptionTest() {
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(user));
+
+        assertThrows(ValidationException.class, () -> service.getBookingsAfter(user.getId(), "ALL", "not a cursor", 20));
+        assertThrows(ValidationException.class, () -> service.getBookingsAfter(user.getId(), "ALL", "", 0));
+    }
+
+    @Test
+    void getBookingsFromNotMultipleOfSizeTest() {
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(user));
+
+        service.getBookings(user.getId(), "ALL", 3, 2);
+
+        verify(repository).findAllByQuery(argThat(query -> query.getUserId() == user.getId()
+                && query.getOffset() == 3 && query.getLimit() == 2));
+    }
+
+    private BookingResponse response(Booking booking) {
+        return new BookingResponse(booking.getId(), booking.getStart(), booking.getEnd(), booking.getStatus(),
+                user.getId(), item.getId(), item.getName());
+    }
 }
@@ -0,0 +1,68 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.DatabaseItemSearchEngine;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:databaseSearch")
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class DatabaseItemSearchEngineTest {
+
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private Item drill;
+    private Item drillBitSet;
+
+    @BeforeEach
+    void beforeEach() {
+        User owner = userRepository.save(new User("owner", "owner@search.test"));
+        drill = save(owner, "Дрель", "Простая", true);
+        save(owner, "Дрель ударная", "Сломана", false);
+        save(owner, "Перфоратор", "Дрель-перфоратор в ремонте", false);
+        drillBitSet = save(owner, "Набор сверл", "Для дрели и шуруповёрта", true);
+        save(owner, "100% хлопок", "Скатерть", true);
+    }
+
+    @Test
+    void unavailableItemMatchingByNameIsSkippedTest() {
+        for (boolean trigram : List.of(false, true)) {
+            List<Item> found = new DatabaseItemSearchEngine(itemRepository, trigram)
+                    .search("дрел", PageRequest.of(0, 10));
+
+            assertThat(found, contains(hasProperty("id", equalTo(drill.getId())),
+                    hasProperty("id", equalTo(drillBitSet.getId()))));
+        }
+    }
+
+    @Test
+    void wildcardsInTextAreMatchedLiterallyTest() {
+        for (boolean trigram : List.of(false, true)) {
+            List<Item> found = new DatabaseItemSearchEngine(itemRepository, trigram)
+                    .search("0%", PageRequest.of(0, 10));
+
+            assertThat(found, hasSize(1));
+            assertThat(found.get(0).getName(), equalTo("100% хлопок"));
+        }
+    }
+
+    private Item save(User owner, String name, String description, boolean available) {
+        Item item = new Item(name, description, available);
+        item.setOwner(owner);
+        return itemRepository.save(item);
+    }
+}
@@ -0,0 +1,289 @@
+package ru.practicum.shareit;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Random;
+
+public class DatasetGenerator {
+    public static final String EMAIL_DOMAIN = "@dataset.shareit";
+    public static final String[] NAMES = {"drill", "ladder", "tent", "kayak", "projector", "saw", "bike", "grill",
+            "camera", "speaker", "sander", "canoe", "scooter", "hammock", "telescope", "generator"};
+
+    private static final String[] ADJECTIVES = {"cordless", "compact", "heavy", "folding", "electric", "vintage",
+            "portable", "professional", "waterproof", "lightweight"};
+    private static final String[] TABLES = {"users", "requests", "items", "bookings", "comments"};
+    private static final int BATCH_SIZE = 1000;
+    private static final int COPY_BUFFER = 1 << 16;
+
+    private final int users;
+    private final int items;
+    private final int bookings;
+    private final int requests;
+    private final int comments;
+    private final Random random = new Random(42);
+    private final LocalDateTime now = LocalDateTime.now();
+
+    public DatasetGenerator(int users, int items, int bookings) {
+        this.users = users;
+        this.items = items;
+        this.bookings = bookings;
+        this.requests = Math.max(1, users / 2);
+        this.comments = Math.max(1, items / 2);
+    }
+
+    public boolean seed(Connection connection) throws SQLException {
+        if (seededUsers(connection) >= users) {
+            return false;
+        }
+        boolean postgres = BenchmarkDatabase.isPostgres(connection);
+        connection.setAutoCommit(false);
+        try {
+            long userBase = nextId(connection, "users");
+            long requestBase = nextId(connection, "requests");
+            long itemBase = nextId(connection, "items");
+            seedUsers(connection, postgres, userBase);
+            seedRequests(connection, postgres, requestBase, userBase);
+            seedItems(connection, postgres, itemBase, userBase, requestBase);
+            seedBookings(connection, postgres, nextId(connection, "bookings"), itemBase, userBase);
+            seedComments(connection, postgres, nextId(connection, "comments"), itemBase, userBase);
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+        resetSequences(connection, postgres);
+        if (postgres) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE");
+            }
+        }
+        return true;
+    }
+
+    private void seedUsers(Connection connection, boolean postgres, long base) throws SQLException {
+        try (Rows rows = rows(connection, postgres, "users", "id", "name", "email")) {
+            for (int i = 0; i < users; i++) {
+                rows.add(base + i, "user " + i, "user" + (base + i) + EMAIL_DOMAIN);
+            }
+        }
+    }
+
+    private void seedRequests(Connection connection, boolean postgres, long base, long userBase) throws SQLException {
+        try (Rows rows = rows(connection, postgres, "requests", "id", "description", "requester_id", "created")) {
+            for (int i = 0; i < requests; i++) {
+                rows.add(base + i, "looking for a " + pick(ADJECTIVES) + " " + pick(NAMES),
+                        userBase + random.nextInt(users), now.minusMinutes(random.nextInt(2 * 365 * 24 * 60)));
+            }
+        }
+    }
+
+    private void seedItems(Connection connection, boolean postgres, long base, long userBase, long requestBase)
+            throws SQLException {
+        try (Rows rows = rows(connection, postgres, "items",
+                "id", "name", "description", "is_available", "owner_id", "request_id")) {
+            for (int i = 0; i < items; i++) {
+                String name = pick(NAMES);
+                rows.add(base + i, name + " " + Integer.toHexString(random.nextInt()),
+                        pick(ADJECTIVES) + " " + name + " for rent, " + pick(ADJECTIVES) + " and " + pick(ADJECTIVES),
+                        random.nextInt(10) != 0, userBase + skewed(users, 3),
+                        random.nextInt(10) == 0 ? requestBase + random.nextInt(requests) : null);
+            }
+        }
+    }
+
+    private void seedBookings(Connection connection, boolean postgres, long base, long itemBase, long userBase)
+            throws SQLException {
+        int[] perItem = new int[items];
+        for (int i = 0; i < bookings; i++) {
+            perItem[skewed(items, 2)]++;
+        }
+        LocalDateTime windowStart = now.minusDays(2 * 365);
+        long windowMinutes = Duration.ofDays(3 * 365).toMinutes();
+        long id = base;
+        try (Rows rows = rows(connection, postgres, "bookings",
+                "id", "start_date", "end_date", "item_id", "booker_id", "status")) {
+            for (int item = 0; item < items; item++) {
+                if (perItem[item] == 0) {
+                    continue;
+                }
+                long slot = windowMinutes / perItem[item];
+                for (int k = 0; k < perItem[item]; k++) {
+                    LocalDateTime start = windowStart.plusMinutes(k * slot + (long) (random.nextDouble() * slot / 2));
+                    LocalDateTime end = start.plusMinutes(Math.max(1, Math.min(slot / 2, 60 + random.nextInt(72 * 60))));
+                    rows.add(id++, start, end, itemBase + item, userBase + random.nextInt(users), status(start, end));
+                }
+            }
+        }
+    }
+
+    private void seedComments(Connection connection, boolean postgres, long base, long itemBase, long userBase)
+            throws SQLException {
+        try (Rows rows = rows(connection, postgres, "comments", "id", "text", "item_id", "author_id", "created")) {
+            for (int i = 0; i < comments; i++) {
+                rows.add(base + i, pick(ADJECTIVES) + " and works fine", itemBase + skewed(items, 2),
+                        userBase + random.nextInt(users), now.minusMinutes(random.nextInt(365 * 24 * 60)));
+            }
+        }
+    }
+
+    private String status(LocalDateTime start, LocalDateTime end) {
+        int roll = random.nextInt(10);
+        if (end.isBefore(now)) {
+            return roll < 8 ? "APPROVED" : "REJECTED";
+        }
+        if (start.isAfter(now)) {
+            return roll < 4 ? "WAITING" : roll < 9 ? "APPROVED" : "REJECTED";
+        }
+        return roll < 9 ? "APPROVED" : "REJECTED";
+    }
+
+    private int skewed(int bound, double exponent) {
+        return Math.min(bound - 1, (int) (bound * Math.pow(random.nextDouble(), exponent)));
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private long seededUsers(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     "SELECT count(*) FROM users WHERE email LIKE '%" + EMAIL_DOMAIN + "'")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private long nextId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COALESCE(max(id), 0) + 1 FROM " + table)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private void resetSequences(Connection connection, boolean postgres) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String table : TABLES) {
+                long next = nextId(connection, table);
+                if (postgres) {
+                    statement.execute("SELECT setval('" + table + "_seq', " + next + ", false)");
+                } else {
+                    statement.execute("ALTER SEQUENCE " + table + "_seq RESTART WITH " + next);
+                }
+            }
+        }
+    }
+
+    private Rows rows(Connection connection, boolean postgres, String table, String... columns) throws SQLException {
+        String columnList = String.join(", ", columns);
+        if (postgres) {
+            return new CopyRows(connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyIn("COPY " + table + " (" + columnList + ") FROM STDIN WITH (FORMAT csv)"));
+        }
+        String placeholders = String.join(", ", Collections.nCopies(columns.length, "?"));
+        return new BatchRows(connection.prepareStatement(
+                "INSERT INTO " + table + " (" + columnList + ") VALUES (" + placeholders + ")"));
+    }
+
+    private interface Rows extends AutoCloseable {
+        void add(Object... values) throws SQLException;
+
+        @Override
+        void close() throws SQLException;
+    }
+
+    private static final class CopyRows implements Rows {
+        private final CopyIn copyIn;
+        private final StringBuilder buffer = new StringBuilder(COPY_BUFFER);
+
+        private CopyRows(CopyIn copyIn) {
+            this.copyIn = copyIn;
+        }
+
+        @Override
+        public void add(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append(',');
+                }
+                Object value = values[i];
+                if (value instanceof String) {
+                    buffer.append('"').append(((String) value).replace("\"", "\"\"")).append('"');
+                } else if (value instanceof LocalDateTime) {
+                    buffer.append(Timestamp.valueOf((LocalDateTime) value));
+                } else if (value != null) {
+                    buffer.append(value);
+                }
+            }
+            buffer.append('\n');
+            if (buffer.length() >= COPY_BUFFER) {
+                flush();
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                flush();
+                copyIn.endCopy();
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+        }
+
+        private void flush() throws SQLException {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+    }
+
+    private static final class BatchRows implements Rows {
+        private final PreparedStatement statement;
+        private int pending;
+
+        private BatchRows(PreparedStatement statement) {
+            this.statement = statement;
+        }
+
+        @Override
+        public void add(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                Object value = values[i];
+                statement.setObject(i + 1, value instanceof LocalDateTime ? Timestamp.valueOf((LocalDateTime) value) : value);
+            }
+            statement.addBatch();
+            if (++pending == BATCH_SIZE) {
+                statement.executeBatch();
+                pending = 0;
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                if (pending > 0) {
+                    statement.executeBatch();
+                }
+            } finally {
+                statement.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.InMemoryItemSearchEngine;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class InMemoryItemSearchEngineTest {
+
+    private final ItemRepository repository = mock(ItemRepository.class);
+    private final List<Item> items = new ArrayList<>();
+    private InMemoryItemSearchEngine engine;
+
+    @BeforeEach
+    void beforeEach() {
+        items.add(new Item(1L, "Дрель", "Простая дрель", true));
+        items.add(new Item(2L, "Аккумуляторная дрель", "Дрель с аккумулятором, аккумулятор в комплекте", true));
+        items.add(new Item(3L, "Отвёртка", "Аккумуляторная отвёртка", true));
+        items.add(new Item(4L, "Дрель ударная", "Сломана", false));
+        when(repository.findAllByIdGreaterThanOrderByIdAsc(eq(0L), any()))
+                .thenReturn(items);
+        when(repository.findAllByIdGreaterThanOrderByIdAsc(eq(4L), any()))
+                .thenReturn(new ArrayList<>());
+        when(repository.findAllById(any()))
+                .thenAnswer(invocation -> {
+                    Collection<Long> ids = invocation.getArgument(0);
+                    List<Item> found = new ArrayList<>();
+                    for (Item item : items) {
+                        if (ids.contains(item.getId())) {
+                            found.add(item);
+                        }
+                    }
+                    return found;
+                });
+        engine = new InMemoryItemSearchEngine(repository);
+        engine.rebuild();
+    }
+
+    @Test
+    void searchSkipsUnavailableItemsTest() {
+        List<Item> found = engine.search("дрель", PageRequest.of(0, 10));
+
+        assertThat(found, hasSize(2));
+        assertThat(found, everyItem(hasProperty("available", equalTo(true))));
+    }
+
+    @Test
+    void searchRanksByRelevanceTest() {
+        List<Item> found = engine.search("АККУМ", PageRequest.of(0, 10));
+
+        assertThat(found, hasSize(2));
+        assertThat(found.get(0).getId(), equalTo(2L));
+        assertThat(found.get(1).getId(), equalTo(3L));
+    }
+
+    @Test
+    void searchRequiresAllWordsTest() {
+        List<Item> found = engine.search("дрель аккумулятор", PageRequest.of(0, 10));
+
+        assertThat(found, hasSize(1));
+        assertThat(found.get(0).getId(), equalTo(2L));
+    }
+
+    @Test
+    void searchPageTest() {
+        List<Item> first = engine.search("дрель", PageRequest.of(0, 1));
+        List<Item> second = engine.search("дрель", PageRequest.of(1, 1));
+        List<Item> third = engine.search("дрель", PageRequest.of(2, 1));
+
+        assertThat(first, hasSize(1));
+        assertThat(second, hasSize(1));
+        assertThat(first.get(0).getId(), not(equalTo(second.get(0).getId())));
+        assertThat(third, empty());
+    }
+
+    @Test
+    void searchBlankTextTest() {
+        assertThat(engine.search(" ,. ", PageRequest.of(0, 10)), empty());
+    }
+
+    @Test
+    void indexNewItemTest() {
+        Item item = new Item(5L, "Стремянка", "Алюминиевая лестница", true);
+        items.add(item);
+
+        engine.index(item);
+
+        assertThat(engine.search("лестн", PageRequest.of(0, 10)), contains(item));
+    }
+
+    @Test
+    void indexUpdatedItemTest() {
+        Item item = new Item(4L, "Перфоратор", "Починен", true);
+        items.set(3, item);
+
+        engine.index(item);
+
+        assertThat(engine.search("перфоратор", PageRequest.of(0, 10)), contains(item));
+        assertThat(engine.search("сломана", PageRequest.of(0, 10)), empty());
+        assertThat(engine.search("дрель", PageRequest.of(0, 10)), hasSize(2));
+    }
+
+    @Test
+    void searchMatchesSubstringsTest() {
+        assertThat(engine.search("рель", PageRequest.of(0, 10)), containsInAnyOrder(items.get(0), items.get(1)));
+        assertThat(engine.search("ёртк", PageRequest.of(0, 10)), contains(items.get(2)));
+        assertThat(engine.search("мулят", PageRequest.of(0, 10)), containsInAnyOrder(items.get(1), items.get(2)));
+    }
+
+    @Test
+    void searchCountsOverlappingTermsOnceTest() {
+        Item twoTerms = new Item(10L, "Молоток", "Поток", true);
+        Item repeated = new Item(11L, "Молоток", "Молоток", true);
+        List<Item> added = new ArrayList<>(List.of(twoTerms, repeated));
+        for (long id = 20; id < 24; id++) {
+            added.add(new Item(id, "Поток", "Поток", true));
+        }
+        for (Item item : added) {
+            items.add(item);
+            engine.index(item);
+        }
+
+        assertThat(engine.search("ток молоток", PageRequest.of(0, 10)), contains(twoTerms, repeated));
+    }
+}
@@ -0,0 +1,153 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemBookingPeriod;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ItemAvailabilityIndexTest {
+
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final ProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+    private final LocalDateTime day = LocalDateTime.now().plusDays(10).withHour(0).withMinute(0).withSecond(0).withNano(0);
+    private ItemAvailabilityIndex index;
+
+    @BeforeEach
+    void beforeEach() {
+        List<ItemBookingPeriod> periods = new ArrayList<>();
+        periods.add(period(1L, 1L, day.plusHours(2), day.plusHours(4)));
+        periods.add(period(2L, 1L, day.plusHours(3), day.plusHours(6)));
+        periods.add(period(3L, 1L, day.plusHours(10), day.plusHours(12)));
+        periods.add(period(4L, 2L, day.plusHours(1), day.plusHours(20)));
+        when(bookingRepository.findAllPeriodsByStatusInAndEndAfter(any(), any(), eq(0L), any()))
+                .thenReturn(periods);
+        when(bookingRepository.findAllPeriodsByStatusInAndEndAfter(any(), any(), eq(4L), any()))
+                .thenReturn(new ArrayList<>());
+        index = new ItemAvailabilityIndex(bookingRepository);
+        index.rebuild();
+    }
+
+    @Test
+    void getAvailabilityMergesBusyPeriodsTest() {
+        ItemAvailabilityDto availability = index.getAvailability(1L, day, day.plusDays(1));
+
+        assertThat(availability.getBusy(), contains(
+                new ItemAvailabilityDto.Period(day.plusHours(2), day.plusHours(6)),
+                new ItemAvailabilityDto.Period(day.plusHours(10), day.plusHours(12))));
+        assertThat(availability.getFree(), contains(
+                new ItemAvailabilityDto.Period(day, day.plusHours(2)),
+                new ItemAvailabilityDto.Period(day.plusHours(6), day.plusHours(10)),
+                new ItemAvailabilityDto.Period(day.plusHours(12), day.plusDays(1))));
+    }
+
+    @Test
+    void getAvailabilityClipsToWindowTest() {
+        ItemAvailabilityDto availability = index.getAvailability(1L, day.plusHours(5), day.plusHours(11));
+
+        assertThat(availability.getBusy(), contains(
+                new ItemAvailabilityDto.Period(day.plusHours(5), day.plusHours(6)),
+                new ItemAvailabilityDto.Period(day.plusHours(10), day.plusHours(11))));
+        assertThat(availability.getFree(), contains(
+                new ItemAvailabilityDto.Period(day.plusHours(6), day.plusHours(10))));
+    }
+
+    @Test
+    void getAvailabilityFindsLongBookingStartedBeforeWindowTest() {
+        ItemAvailabilityDto availability = index.getAvailability(2L, day.plusHours(15), day.plusHours(16));
+
+        assertThat(availability.getBusy(), contains(
+                new ItemAvailabilityDto.Period(day.plusHours(15), day.plusHours(16))));
+        assertThat(availability.getFree(), empty());
+    }
+
+    @Test
+    void getAvailabilityUnknownItemIsFreeTest() {
+        ItemAvailabilityDto availability = index.getAvailability(99L, day, day.plusHours(1));
+
+        assertThat(availability.getBusy(), empty());
+        assertThat(availability.getFree(), contains(new ItemAvailabilityDto.Period(day, day.plusHours(1))));
+    }
+
+    @Test
+    void onBookingChangedTest() {
+        Booking booking = new Booking(day.plusHours(7), day.plusHours(8));
+        booking.setId(5L);
+        booking.setItem(new Item(1L, "name", "description", true));
+        booking.setStatus(BookingStatus.WAITING);
+
+        index.onBookingChanged(booking);
+
+        assertThat(index.getAvailability(1L, day.plusHours(6), day.plusHours(10)).getBusy(), contains(
+                new ItemAvailabilityDto.Period(day.plusHours(7), day.plusHours(8))));
+
+        booking.setStatus(BookingStatus.REJECTED);
+        index.onBookingChanged(booking);
+
+        assertThat(index.getAvailability(1L, day.plusHours(6), day.plusHours(10)).getBusy(), empty());
+    }
+
+    @Test
+    void rejectingLongestBookingRestoresMaxLengthTest() {
+        Booking booking = new Booking(day.plusHours(2), day.plusDays(3));
+        booking.setId(6L);
+        booking.setItem(new Item(2L, "name", "description", true));
+        booking.setStatus(BookingStatus.WAITING);
+
+        index.onBookingChanged(booking);
+
+        assertThat(maxLength(2L), equalTo(Duration.ofHours(70)));
+
+        booking.setStatus(BookingStatus.REJECTED);
+        index.onBookingChanged(booking);
+
+        assertThat(maxLength(2L), equalTo(Duration.ofHours(19)));
+        assertThat(index.getAvailability(2L, day.plusHours(15), day.plusDays(2)).getBusy(), contains(
+                new ItemAvailabilityDto.Period(day.plusHours(15), day.plusHours(20))));
+    }
+
+    @Test
+    void endedBookingsArePrunedOnUpdateTest() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking ended = new Booking(now.minusHours(3), now.minusHours(1));
+        ended.setId(7L);
+        ended.setItem(new Item(1L, "name", "description", true));
+        ended.setStatus(BookingStatus.APPROVED);
+
+        index.onBookingChanged(ended);
+
+        assertThat(index.getAvailability(1L, now.minusHours(4), now).getBusy(), empty());
+        assertThat(index.getAvailability(1L, day, day.plusDays(1)).getBusy(), hasSize(2));
+        assertThat(maxLength(1L), equalTo(Duration.ofHours(3)));
+    }
+
+    private Duration maxLength(long itemId) {
+        Map<?, ?> items = (Map<?, ?>) ReflectionTestUtils.getField(index, "items");
+        return (Duration) ReflectionTestUtils.getField(items.get(itemId), "maxLength");
+    }
+
+    private ItemBookingPeriod period(Long id, Long itemId, LocalDateTime start, LocalDateTime end) {
+        return projectionFactory.createProjection(ItemBookingPeriod.class,
+                Map.of("id", id, "itemId", itemId, "start", start, "end", end));
+    }
+}
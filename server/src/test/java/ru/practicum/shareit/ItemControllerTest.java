@@ -16,12 +16,14 @@ import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Item;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.mockito.Mockito.when;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
@@ -59,6 +61,25 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$.requestId", is(item.getRequestId()), Long.class));
     }
 
+    @Test
+    void importItemsTest(@Autowired MockMvc mvc) throws Exception {
+        ItemImportResult result = new ItemImportResult(2, 1,
+                List.of(new ItemImportResult.Error(1, "Поле available обязательно.")));
+        when(service.importItems(eq(1L), any()))
+                .thenReturn(result);
+
+        mvc.perform(post("/items/import")
+                        .content("{\"name\":\"a\"}\n{\"name\":\"b\"}\n{\"name\":\"c\"}\n")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType("application/x-ndjson")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(2)))
+                .andExpect(jsonPath("$.rejected", is(1)))
+                .andExpect(jsonPath("$.errors[0].index", is(1)));
+    }
+
     @Test
     void createItemCommentTest(@Autowired MockMvc mvc) throws Exception {
         ItemShort item = new ItemShort("name", "description", true, 0L);
@@ -183,4 +204,41 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$[0].description", is(item1.getDescription())))
                 .andExpect(jsonPath("$[0].available", is(item1.getAvailable())));
     }
+
+    @Test
+    void getItemSuggestTest(@Autowired MockMvc mvc) throws Exception {
+        when(service.getItemSuggest(any(), any(), any()))
+                .thenReturn(List.of("дрель", "дрель ударная"));
+
+        mvc.perform(get("/items/suggest")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("prefix", "дре"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]", is("дрель")))
+                .andExpect(jsonPath("$[1]", is("дрель ударная")));
+    }
+
+    @Test
+    void getItemAvailabilityTest(@Autowired MockMvc mvc) throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(1);
+        ItemAvailabilityDto availability = new ItemAvailabilityDto(1L, from, to,
+                List.of(new ItemAvailabilityDto.Period(from, from.plusHours(2))),
+                List.of(new ItemAvailabilityDto.Period(from.plusHours(2), to)));
+        when(service.getItemAvailability(any(), any(), eq(from), eq(to)))
+                .thenReturn(availability);
+
+        mvc.perform(get("/items/1/availability")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("from", "2030-01-01T00:00:00")
+                        .param("to", "2030-01-02T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemId", is(1)))
+                .andExpect(jsonPath("$.free[0].end", is("2030-01-01T02:00:00")))
+                .andExpect(jsonPath("$.busy[0].start", is("2030-01-01T02:00:00")));
+    }
 }
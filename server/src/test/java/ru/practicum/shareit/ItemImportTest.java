@@ -0,0 +1,116 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemImportResult;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.StringJoiner;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:shareit",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemImportTest {
+
+    private final ItemService service;
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository requestRepository;
+    private final UserRepository userRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private User owner;
+    private ItemRequest request;
+
+    @BeforeEach
+    void beforeEach() {
+        owner = userRepository.save(new User("owner", "owner@import.test"));
+        User requester = userRepository.save(new User("requester", "requester@import.test"));
+        request = new ItemRequest();
+        request.setDescription("need a drill");
+        request.setRequester(requester);
+        requestRepository.saveAndFlush(request);
+    }
+
+    @Test
+    void importItemsFromNdjsonTest() {
+        String body = "{\"name\":\"drill\",\"description\":\"cordless\",\"available\":true}\n" +
+                "{\"name\":\"saw\",\"description\":\"hand saw\",\"available\":true,\"requestId\":" + request.getId() + "}\n" +
+                "{\"name\":\"\",\"description\":\"no name\",\"available\":true}\n" +
+                "{\"name\":\"tent\",\"description\":\"two person\",\"available\":true,\"requestId\":99999}\n" +
+                "{\"name\":\"bike\",\"description\":\"city bike\",\"available\":\"maybe\"}\n" +
+                "{\"name\":\"kayak\",\"description\":\"sea kayak\",\"available\":false}\n";
+
+        ItemImportResult result = service.importItems(owner.getId(), stream(body));
+
+        assertThat(result.getImported(), equalTo(3));
+        assertThat(result.getRejected(), equalTo(3));
+        assertThat(result.getErrors(), contains(
+                hasProperty("index", equalTo(2)),
+                hasProperty("index", equalTo(4)),
+                hasProperty("index", equalTo(3))));
+        assertThat(itemRepository.findAllByOwner_Id(owner.getId(), Pageable.unpaged()), hasSize(3));
+    }
+
+    @Test
+    void importItemsFromJsonArrayInChunksTest() {
+        StringJoiner body = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < 2500; i++) {
+            body.add("{\"name\":\"item " + i + "\",\"description\":\"bulk\",\"available\":true}");
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ItemImportResult result = service.importItems(owner.getId(), stream(body.toString()));
+
+        assertThat(result.getImported(), equalTo(2500));
+        assertThat(result.getRejected(), equalTo(0));
+        assertThat(statistics.getEntityInsertCount(), equalTo(2500L));
+        assertThat(statistics.getPrepareStatementCount(), lessThan(200L));
+    }
+
+    @Test
+    void importItemsStopsOnMalformedJsonTest() {
+        String body = "{\"name\":\"drill\",\"description\":\"cordless\",\"available\":true}\n" +
+                "{\"name\":\"saw\",\"description\":";
+
+        ItemImportResult result = service.importItems(owner.getId(), stream(body));
+
+        assertThat(result.getImported(), equalTo(1));
+        assertThat(result.getRejected(), equalTo(1));
+        assertThat(result.getErrors().get(0).getIndex(), equalTo(1));
+    }
+
+    @Test
+    void importItemsThrowExceptionsTest() {
+        assertThrows(ValidationException.class, () -> service.importItems(0L, stream("")));
+        assertThrows(NotFoundException.class, () -> service.importItems(99999L, stream("")));
+    }
+
+    private InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
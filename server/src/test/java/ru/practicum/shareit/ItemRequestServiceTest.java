@@ -10,6 +10,7 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemShort;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.request.ItemRequestService;
@@ -19,6 +20,7 @@ import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,6 +31,8 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:shareit", webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @Transactional
@@ -96,8 +100,8 @@ public class ItemRequestServiceTest {
         when(repository.findAllByRequester_Id(anyLong()))
                 .thenReturn(List.of(itemRequest));
 
-        when(itemRepository.findAllByRequest_Id(anyLong()))
-                .thenReturn(List.of(item));
+        when(itemRepository.findAllByRequest_IdIn(any()))
+                .thenReturn(List.of(itemShort(item)));
 
         List<ItemRequestDto> request = service.getItemRequestsOwn(user.getId());
 
@@ -134,7 +138,7 @@ public class ItemRequestServiceTest {
         when(repository.findAllByRequester_Id(anyLong()))
                 .thenReturn(List.of(itemRequest));
 
-        when(itemRepository.findAllByRequest_Id(anyLong()))
+        when(itemRepository.findAllByRequest_IdIn(any()))
                 .thenReturn(List.of());
 
         List<ItemRequestDto> request = service.getItemRequestsOwn(user.getId());
@@ -160,8 +164,8 @@ public class ItemRequestServiceTest {
         when(repository.findAllByRequester_IdNotOrderByCreatedDesc(anyLong(), any()))
                 .thenReturn(List.of(itemRequest));
 
-        when(itemRepository.findAllByRequest_Id(anyLong()))
-                .thenReturn(List.of(item));
+        when(itemRepository.findAllByRequest_IdIn(any()))
+                .thenReturn(List.of(itemShort(item)));
 
         List<ItemRequestDto> request = service.getItemRequests(1L, 0, 20);
 
@@ -261,4 +265,42 @@ public class ItemRequestServiceTest {
 
         assertThrows(NotFoundException.class, () -> service.getItemRequest(1L, 99L));
     }
+
+    @Test
+    void getItemRequestsLoadsItemsWithOneQueryTest() {
+        List<ItemRequest> itemRequests = new ArrayList<>();
+        List<ItemShort> items = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            ItemRequest request = new ItemRequest();
+            request.setId(id);
+            request.setDescription("description" + id);
+            request.setRequester(user);
+            itemRequests.add(request);
+            if (id % 2 == 0) {
+                items.add(new ItemShort(id, "name" + id, "description" + id, true, id));
+                items.add(new ItemShort(id + 100, "name" + id, "description" + id, true, id));
+            }
+        }
+
+        when(userRepository.findById(1L))
+                .thenReturn(Optional.ofNullable(user));
+
+        when(repository.findAllByRequester_IdNotOrderByCreatedDesc(anyLong(), any()))
+                .thenReturn(itemRequests);
+
+        when(itemRepository.findAllByRequest_IdIn(any()))
+                .thenReturn(items);
+
+        List<ItemRequestDto> request = service.getItemRequests(1L, 0, 20);
+
+        assertThat(request, hasSize(20));
+        assertThat(request.get(0).getItems(), hasSize(0));
+        assertThat(request.get(1).getItems(), hasSize(2));
+        verify(itemRepository, times(1)).findAllByRequest_IdIn(any());
+    }
+
+    private ItemShort itemShort(Item item) {
+        return new ItemShort(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                item.getRequest().getId());
+    }
 }
@@ -0,0 +1,81 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@EnabledIfSystemProperty(named = BenchmarkDatabase.URL_PROPERTY, matches = ".+")
+public class ItemSearchBenchmarkTest {
+    private static final int ITEMS = Integer.getInteger("shareit.benchmark.items", 1_000_000);
+    private static final int ITERATIONS = Integer.getInteger("shareit.benchmark.iterations", 50);
+    private static final String OWNER_EMAIL = "search-benchmark@shareit.local";
+
+    private static final String LIKE_QUERY = "SELECT i.id FROM items i " +
+            "WHERE upper(i.name) LIKE upper(?) ESCAPE '\\' " +
+            "OR upper(i.description) LIKE upper(?) ESCAPE '\\' AND i.is_available = true LIMIT 20";
+    private static final String TRIGRAM_QUERY = "SELECT i.id FROM items i WHERE i.is_available " +
+            "AND (i.name ILIKE ? OR i.description ILIKE ?) ORDER BY i.id LIMIT 20";
+
+    @Test
+    void trigramSearchAgainstLikeTest() throws SQLException {
+        try (Connection connection = BenchmarkDatabase.connect()) {
+            BenchmarkDatabase.initSchema(connection);
+            seedItems(connection);
+            for (String text : List.of("ladder", rareToken(connection))) {
+                long[] like = run(connection, LIKE_QUERY, text);
+                long[] trigram = run(connection, TRIGRAM_QUERY, text);
+                System.out.printf("search '%s' over %d items%n  like:    %s%n  trigram: %s%n", text, ITEMS,
+                        BenchmarkDatabase.percentiles(like), BenchmarkDatabase.percentiles(trigram));
+            }
+        }
+    }
+
+    private long[] run(Connection connection, String sql, String text) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, "%" + text + "%");
+            statement.setString(2, "%" + text + "%");
+            try (ResultSet resultSet = statement.executeQuery()) {
+                assertThat(resultSet.next(), is(true));
+            }
+            return BenchmarkDatabase.measure(statement, ITERATIONS);
+        }
+    }
+
+    private void seedItems(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO users (name, email) SELECT 'benchmark', '" + OWNER_EMAIL + "' " +
+                    "WHERE NOT EXISTS (SELECT 1 FROM users WHERE email = '" + OWNER_EMAIL + "')");
+            long existing;
+            try (ResultSet resultSet = statement.executeQuery("SELECT count(*) FROM items")) {
+                resultSet.next();
+                existing = resultSet.getLong(1);
+            }
+            if (existing < ITEMS) {
+                statement.executeUpdate("INSERT INTO items (name, description, is_available, owner_id) " +
+                        "SELECT (ARRAY['drill', 'ladder', 'tent', 'kayak', 'projector', 'saw', 'bike', 'grill'])" +
+                        "[1 + g % 8] || ' ' || substr(md5(g::text), 1, 8), " +
+                        "'rent ' || substr(md5((g * 31)::text), 1, 16), g % 10 <> 0, " +
+                        "(SELECT id FROM users WHERE email = '" + OWNER_EMAIL + "') " +
+                        "FROM generate_series(" + (existing + 1) + ", " + ITEMS + ") g");
+                statement.execute("VACUUM ANALYZE items");
+            }
+        }
+    }
+
+    private String rareToken(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT substr(md5('" + (ITEMS / 2 + 1) + "'), 1, 6)")) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+}
@@ -6,6 +6,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingStatus;
@@ -18,12 +20,15 @@ import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.hamcrest.CoreMatchers.notNullValue;
@@ -33,6 +38,10 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:shareit", webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @Transactional
@@ -59,6 +68,7 @@ public class ItemServiceImplTest {
     private Booking bookingVeryPast;
     private Comment comment;
     private CommentShort commentShort;
+    private final ProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
 
     @BeforeEach
     void beforeEach() {
@@ -452,8 +462,8 @@ public class ItemServiceImplTest {
         when(repository.findAllByOwner_Id(any(), any()))
                 .thenReturn(List.of(item));
 
-        when(commentRepository.findAllByItem_Owner_Id(any()))
-                .thenReturn(List.of(List.of(comment)));
+        when(commentRepository.findAllByItem_IdIn(any()))
+                .thenReturn(List.of(commentView(item, comment)));
 
         List<ItemDto> itemDtos = service.getItems(user.getId(), 0, 20);
 
@@ -472,9 +482,11 @@ public class ItemServiceImplTest {
     void getItemsWitLastBookingAndNextBookingTest() {
         item.setOwner(user);
         item1.setOwner(user);
+        bookingFuture.setId(1L);
         bookingFuture.setItem(item);
         bookingFuture.setBooker(user1);
         bookingFuture.setStatus(BookingStatus.APPROVED);
+        bookingPast.setId(2L);
         bookingPast.setItem(item1);
         bookingPast.setBooker(user2);
         bookingPast.setStatus(BookingStatus.APPROVED);
@@ -483,85 +495,61 @@ public class ItemServiceImplTest {
                 .thenReturn(Optional.ofNullable(user));
 
         when(repository.findAllByOwner_Id(any(), any()))
-                .thenReturn(List.of(item));
-
-        when(bookingRepository.findAllByItem_Owner_IdAndStartBeforeAndStatusOrderByStartDesc(any(), any(), any()))
-                .thenReturn(List.of(bookingPast));
-
-        when(bookingRepository.findAllByItem_Owner_IdAndStartAfterAndStatusOrderByStartAsc(any(), any(), any()))
-                .thenReturn(List.of(bookingFuture));
+                .thenReturn(List.of(item, item1));
 
+        when(bookingRepository.findLastAndNextByItem_IdIn(any(), any(), any()))
+                .thenReturn(List.of(bookingView(bookingPast), bookingView(bookingFuture)));
 
         List<ItemDto> itemDtos = service.getItems(user.getId(), 0, 20);
 
         assertThat(itemDtos, hasSize(2));
+        assertThat(itemDtos.get(0).getLastBooking(), nullValue());
+        assertThat(itemDtos.get(0).getNextBooking().getBookerId(), equalTo(user1.getId()));
+        assertThat(itemDtos.get(1).getLastBooking().getBookerId(), equalTo(user2.getId()));
+        assertThat(itemDtos.get(1).getNextBooking(), nullValue());
     }
 
     @Test
-    void getItemsWithLastBookingAndNextBookingWithLastMoreTest() {
-        item.setOwner(user);
-        item1.setOwner(user);
-        bookingFuture.setItem(item);
-        bookingFuture.setBooker(user1);
-        bookingFuture.setStatus(BookingStatus.APPROVED);
-        bookingPast.setItem(item1);
-        bookingPast.setBooker(user2);
-        bookingPast.setStatus(BookingStatus.APPROVED);
-        bookingVeryPast.setStatus(BookingStatus.APPROVED);
-
-        when(userRepository.findById(1L))
-                .thenReturn(Optional.ofNullable(user));
-
+    void getItemsWithoutItemsTest() {
         when(repository.findAllByOwner_Id(any(), any()))
-                .thenReturn(List.of(item));
-
-        when(bookingRepository.findAllByItem_Owner_IdAndStartBeforeAndStatusOrderByStartDesc(any(), any(), any()))
-                .thenReturn(List.of(bookingPast, bookingVeryPast));
-
-        when(bookingRepository.findAllByItem_Owner_IdAndStartAfterAndStatusOrderByStartAsc(any(), any(), any()))
-                .thenReturn(List.of(bookingFuture));
-
+                .thenReturn(List.of());
 
-        assertThrows(UnsupportedOperationException.class, () -> service.getItems(user.getId(), 0, 20));
+        List<ItemDto> itemDtos = service.getItems(user.getId(), 0, 20);
 
+        assertThat(itemDtos, hasSize(0));
+        verify(bookingRepository, never()).findLastAndNextByItem_IdIn(any(), any(), any());
+        verify(commentRepository, never()).findAllByItem_IdIn(any());
     }
 
     @Test
-    void getItemsWithLastBookingAndNextBookingWithNextMoreTest() {
-        item.setOwner(user);
-        item1.setOwner(user);
-        bookingFuture.setItem(item);
-        bookingFuture.setBooker(user1);
-        bookingFuture.setStatus(BookingStatus.APPROVED);
-        bookingPast.setItem(item1);
-        bookingPast.setBooker(user2);
-        bookingPast.setStatus(BookingStatus.APPROVED);
-        bookingVeryPast.setStatus(BookingStatus.APPROVED);
-
-        when(userRepository.findById(1L))
-                .thenReturn(Optional.ofNullable(user));
+    void getItemsFixedNumberOfQueriesTest() {
+        List<Item> items = new ArrayList<>();
+        for (long i = 1; i <= 50; i++) {
+            Item ownItem = new Item(i, "name" + i, "description" + i, true);
+            ownItem.setOwner(user);
+            items.add(ownItem);
+        }
 
         when(repository.findAllByOwner_Id(any(), any()))
-                .thenReturn(List.of(item));
+                .thenReturn(items);
 
-        when(bookingRepository.findAllByItem_Owner_IdAndStartBeforeAndStatusOrderByStartDesc(any(), any(), any()))
-                .thenReturn(List.of(bookingPast));
-
-        when(bookingRepository.findAllByItem_Owner_IdAndStartAfterAndStatusOrderByStartAsc(any(), any(), any()))
-                .thenReturn(List.of(bookingFuture, bookingVeryPast));
+        List<ItemDto> itemDtos = service.getItems(user.getId(), 0, 50);
 
-
-        assertThrows(UnsupportedOperationException.class, () -> service.getItems(user.getId(), 0, 20));
+        assertThat(itemDtos, hasSize(50));
+        verify(repository, times(1)).findAllByOwner_Id(any(), any());
+        verify(bookingRepository, times(1)).findLastAndNextByItem_IdIn(any(), any(), any());
+        verify(commentRepository, times(1)).findAllByItem_IdIn(any());
     }
 
     @Test
     void getItemsWithLastBookingAndNextBookingAndCommentsTest() {
         item.setOwner(user);
-        item1.setOwner(user);
+        bookingFuture.setId(1L);
         bookingFuture.setItem(item);
         bookingFuture.setBooker(user1);
         bookingFuture.setStatus(BookingStatus.APPROVED);
-        bookingPast.setItem(item1);
+        bookingPast.setId(2L);
+        bookingPast.setItem(item);
         bookingPast.setBooker(user2);
         bookingPast.setStatus(BookingStatus.APPROVED);
 
@@ -571,19 +559,18 @@ public class ItemServiceImplTest {
         when(repository.findAllByOwner_Id(any(), any()))
                 .thenReturn(List.of(item));
 
-        when(commentRepository.findAllByItem_Owner_Id(any()))
-                .thenReturn(List.of(List.of(comment)));
-
-        when(bookingRepository.findAllByItem_Owner_IdAndStartBeforeAndStatusOrderByStartDesc(any(), any(), any()))
-                .thenReturn(List.of(bookingPast));
-
-        when(bookingRepository.findAllByItem_Owner_IdAndStartAfterAndStatusOrderByStartAsc(any(), any(), any()))
-                .thenReturn(List.of(bookingFuture));
+        when(commentRepository.findAllByItem_IdIn(any()))
+                .thenReturn(List.of(commentView(item, comment)));
 
+        when(bookingRepository.findLastAndNextByItem_IdIn(any(), any(), any()))
+                .thenReturn(List.of(bookingView(bookingPast), bookingView(bookingFuture)));
 
         List<ItemDto> itemDtos = service.getItems(user.getId(), 0, 20);
 
-        assertThat(itemDtos, hasSize(2));
+        assertThat(itemDtos, hasSize(1));
+        assertThat(itemDtos.get(0).getLastBooking().getId(), equalTo(bookingPast.getId()));
+        assertThat(itemDtos.get(0).getNextBooking().getId(), equalTo(bookingFuture.getId()));
+        assertThat(itemDtos.get(0).getComments(), hasSize(1));
     }
 
     @Test
@@ -598,7 +585,7 @@ public class ItemServiceImplTest {
 
     @Test
     void getItemsSearchEmptyListTest() {
-        when(repository.findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCaseAndAvailableIsTrue(any(), any(), any()))
+        when(repository.searchAvailable(any(), any()))
                 .thenReturn(new ArrayList<>());
 
         List<Item> items = service.getItemSearch(1L, "", 0, 20);
@@ -608,7 +595,7 @@ public class ItemServiceImplTest {
 
     @Test
     void getItemsSearchTest() {
-        when(repository.findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCaseAndAvailableIsTrue(any(), any(), any()))
+        when(repository.searchAvailable(any(), any()))
                 .thenReturn(List.of(item));
 
         List<Item> items = service.getItemSearch(1L, "name", 0, 20);
@@ -622,4 +609,32 @@ public class ItemServiceImplTest {
             ));
         }
     }
+
+    @Test
+    void getItemsAfterTest() {
+        Item item2 = new Item(3L, "name2", "description2", true);
+        when(repository.findAllByOwner_IdAndIdGreaterThan(eq(user.getId()), eq(1L), any()))
+                .thenReturn(List.of(item1, item2));
+
+        CursorPage<ItemDto> page = service.getItemsAfter(user.getId(), Cursor.of(1L), 1);
+
+        assertThat(page.getContent(), hasSize(1));
+        assertThat(page.getContent().get(0).getId(), equalTo(item1.getId()));
+        assertThat(page.getNextCursor(), equalTo(Cursor.of(item1.getId())));
+    }
+
+    private ItemBookingView bookingView(Booking booking) {
+        return projectionFactory.createProjection(ItemBookingView.class, Map.of(
+                "id", booking.getId(),
+                "itemId", booking.getItem().getId(),
+                "bookerId", booking.getBooker().getId(),
+                "start", booking.getStart()));
+    }
+
+    private ItemCommentView commentView(Item item, Comment comment) {
+        return projectionFactory.createProjection(ItemCommentView.class, Map.of(
+                "itemId", item.getId(),
+                "text", comment.getText(),
+                "authorName", comment.getAuthor().getName()));
+    }
 }
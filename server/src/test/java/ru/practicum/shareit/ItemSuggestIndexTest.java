@@ -0,0 +1,92 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemBookingCount;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSuggestIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ItemSuggestIndexTest {
+
+    private final ItemRepository repository = mock(ItemRepository.class);
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final ProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+    private ItemSuggestIndex index;
+
+    @BeforeEach
+    void beforeEach() {
+        List<Item> items = new ArrayList<>();
+        items.add(new Item(1L, "Дрель", "Простая дрель", true));
+        items.add(new Item(2L, "Дрель-шуруповёрт", "С аккумулятором", true));
+        items.add(new Item(3L, "Древесный уголь", "Мешок 5 кг", true));
+        items.add(new Item(4L, "Дренажный насос", "Сломан", false));
+        when(repository.findAllByIdGreaterThanOrderByIdAsc(eq(0L), any()))
+                .thenReturn(items);
+        when(repository.findAllByIdGreaterThanOrderByIdAsc(eq(4L), any()))
+                .thenReturn(new ArrayList<>());
+        when(bookingRepository.countAllGroupByItem())
+                .thenReturn(List.of(bookingCount(3L, 5L), bookingCount(2L, 1L)));
+        index = new ItemSuggestIndex(repository, bookingRepository);
+        index.rebuild();
+    }
+
+    @Test
+    void suggestOrdersByBookingsTest() {
+        assertThat(index.suggest("ДРЕ", 10), contains("древесный", "дрель"));
+    }
+
+    @Test
+    void suggestLimitTest() {
+        assertThat(index.suggest("дре", 1), contains("древесный"));
+    }
+
+    @Test
+    void suggestCompletesLastWordTest() {
+        assertThat(index.suggest("дрель шу", 10), contains("дрель шуруповёрт"));
+    }
+
+    @Test
+    void suggestUnknownPrefixTest() {
+        assertThat(index.suggest("пила", 10), empty());
+        assertThat(index.suggest("дрель ", 10), empty());
+    }
+
+    @Test
+    void onBookedTest() {
+        for (int i = 0; i < 5; i++) {
+            index.onBooked(1L);
+        }
+
+        assertThat(index.suggest("дре", 10), contains("дрель", "древесный"));
+    }
+
+    @Test
+    void indexUpdatedItemTest() {
+        index.index(new Item(4L, "Дренажный насос", "Починен", true));
+        index.index(new Item(3L, "Уголь", "Мешок 5 кг", true));
+
+        assertThat(index.suggest("дре", 10), contains("дрель", "дренажный"));
+        assertThat(index.suggest("уг", 10), contains("уголь"));
+    }
+
+    private ItemBookingCount bookingCount(Long itemId, Long bookings) {
+        return projectionFactory.createProjection(ItemBookingCount.class, Map.of(
+                "itemId", itemId,
+                "bookings", bookings));
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.metrics.ServiceMetricsAspect;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:metrics")
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class MetricsTest {
+
+    private final UserService userService;
+    private final BookingService bookingService;
+    private final MeterRegistry meterRegistry;
+    private final MockMvc mvc;
+
+    @Test
+    void serviceCallsAreTimedTest() {
+        User user = userService.createUser(new UserDto("metrics", "metrics@shareit.test"));
+        assertThrows(NotFoundException.class, () -> userService.getUser(99999L));
+
+        assertThat(meterRegistry.get(ServiceMetricsAspect.SERVICE_TIMER)
+                .tags("service", "UserService", "method", "createUser", "exception", "none")
+                .timer().count(), equalTo(1L));
+        assertThat(meterRegistry.get(ServiceMetricsAspect.SERVICE_TIMER)
+                .tags("service", "UserService", "method", "getUser", "exception", "NotFoundException")
+                .timer().count(), equalTo(1L));
+        assertThat(meterRegistry.get("spring.data.repository.invocations")
+                .tags("repository", "UserRepository", "method", "save")
+                .timer().count(), greaterThanOrEqualTo(1L));
+
+        bookingService.getBookingsOwner(user.getId(), "waiting", 0, 10);
+        assertThat(meterRegistry.get("shareit.booking.queries")
+                .tags("role", "owner", "state", "WAITING", "paging", "offset")
+                .counter().count(), equalTo(1.0));
+    }
+
+    @Test
+    void prometheusEndpointTest() throws Exception {
+        userService.getUsers();
+
+        mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(allOf(
+                        containsString("shareit_service_seconds_bucket{"),
+                        containsString("quantile=\"0.99\""),
+                        containsString("hikaricp_connections_active"))));
+    }
+}
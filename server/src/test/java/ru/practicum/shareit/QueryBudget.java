@@ -0,0 +1,25 @@
+package ru.practicum.shareit;
+
+import ru.practicum.shareit.metrics.QueryCounter;
+
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    public static <T> T assertStatements(long budget, Supplier<T> call) {
+        QueryCounter.reset();
+        try {
+            T result = call.get();
+            assertThat("SQL statements", QueryCounter.count(), lessThanOrEqualTo(budget));
+            return result;
+        } finally {
+            QueryCounter.clear();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.metrics.QueryCounter;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import javax.persistence.EntityManager;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:shareit",
+        "shareit.query-count.header=true"
+})
+@AutoConfigureMockMvc
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class QueryBudgetTest {
+    private static final int ITEMS = 100;
+
+    private final ItemService itemService;
+    private final ItemRequestService itemRequestService;
+    private final BookingService bookingService;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+    private final EntityManager entityManager;
+    private final MockMvc mvc;
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    void beforeEach() {
+        owner = userRepository.save(new User("owner", "owner@query.budget"));
+        booker = userRepository.save(new User("booker", "booker@query.budget"));
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ITEMS; i++) {
+            ItemRequest request = new ItemRequest();
+            request.setDescription("description" + i);
+            request.setRequester(booker);
+            request.setCreated(Instant.now());
+            itemRequestRepository.save(request);
+            Item item = new Item("name" + i, "description" + i, true);
+            item.setOwner(owner);
+            item.setRequest(request);
+            itemRepository.save(item);
+            for (int j = -1; j <= 1; j += 2) {
+                Booking booking = new Booking();
+                booking.setStart(now.plusDays(j * (i + 2)));
+                booking.setEnd(now.plusDays(j * (i + 2) + 1));
+                booking.setItem(item);
+                booking.setBooker(booker);
+                booking.setStatus(BookingStatus.APPROVED);
+                bookingRepository.save(booking);
+            }
+            commentRepository.save(new Comment("comment" + i, item, booker));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void getItemsBudgetTest() {
+        assertThat(QueryBudget.assertStatements(3, () -> itemService.getItems(owner.getId(), 0, ITEMS)),
+                hasSize(ITEMS));
+    }
+
+    @Test
+    void getItemRequestsBudgetTest() {
+        assertThat(QueryBudget.assertStatements(3, () -> itemRequestService.getItemRequestsOwn(booker.getId())),
+                hasSize(ITEMS));
+        assertThat(QueryBudget.assertStatements(3, () -> itemRequestService.getItemRequests(owner.getId(), 0, ITEMS)),
+                hasSize(ITEMS));
+    }
+
+    @Test
+    void getBookingsBudgetTest() {
+        assertThat(QueryBudget.assertStatements(2, () -> bookingService.getBookingsOwner(owner.getId(), "ALL", 0, ITEMS)),
+                hasSize(ITEMS));
+        assertThat(QueryBudget.assertStatements(2, () -> bookingService.getBookings(booker.getId(), "PAST", 0, ITEMS)),
+                hasSize(ITEMS));
+    }
+
+    @Test
+    void queryCountHeaderTest() throws Exception {
+        mvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .param("from", "0")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(QueryCounter.QUERY_COUNT_HEADER, "3"));
+        mvc.perform(get("/items/{itemId}", 99999)
+                        .header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isNotFound())
+                .andExpect(header().exists(QueryCounter.QUERY_COUNT_HEADER));
+    }
+}
@@ -0,0 +1,205 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.datasource.ReplicaDataSources;
+import ru.practicum.shareit.datasource.ReplicaRoutingContext;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.InMemoryItemSearchEngine;
+import ru.practicum.shareit.item.search.ItemSuggestIndex;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary",
+        "shareit.datasource.replicas[0].jdbc-url=jdbc:h2:mem:routing-replica;INIT=RUNSCRIPT FROM 'classpath:schema.sql'",
+        "shareit.datasource.replicas[0].maximum-pool-size=2"
+})
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ReplicaRoutingTest {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ReplicaDataSources replicaDataSources;
+    private final MockMvc mvc;
+    private final ObjectMapper mapper;
+    private final MeterRegistry meterRegistry;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingService bookingService;
+    private final ItemSuggestIndex suggestIndex;
+    private final ItemAvailabilityIndex availabilityIndex;
+
+    @Test
+    void readOnlyTransactionsUseReplicaTest() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        assertThat(readOnly.execute(status -> database()), equalToIgnoringCase("routing-replica"));
+        assertThat(readWrite.execute(status -> database()), equalToIgnoringCase("routing-primary"));
+        ReplicaRoutingContext.forcePrimary();
+        try {
+            assertThat(readOnly.execute(status -> database()), equalToIgnoringCase("routing-primary"));
+        } finally {
+            ReplicaRoutingContext.clear();
+        }
+    }
+
+    @Test
+    void replicaPoolHasOwnSettingsTest() {
+        HikariDataSource replica = replicaDataSources.getDataSources().get(0);
+
+        assertThat(replica.getMaximumPoolSize(), equalTo(2));
+        assertThat(replica.getPoolName(), equalTo("replica-0"));
+        assertThat(replica.isReadOnly(), is(true));
+        assertThat(meterRegistry.get("hikaricp.connections.max").tag("pool", "replica-0").gauge().value(),
+                equalTo(2.0));
+    }
+
+    @Test
+    void consistencyTokenReadsOwnWritesTest() throws Exception {
+        MvcResult created = mvc.perform(post("/users")
+                        .content("{\"name\":\"routing\",\"email\":\"routing@replica.test\"}")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(ReplicaRoutingContext.CONSISTENCY_TOKEN_HEADER))
+                .andReturn();
+        String token = created.getResponse().getHeader(ReplicaRoutingContext.CONSISTENCY_TOKEN_HEADER);
+        long userId = mapper.readValue(created.getResponse().getContentAsString(), User.class).getId();
+
+        mvc.perform(get("/users/{userId}", userId))
+                .andExpect(status().isNotFound());
+        mvc.perform(get("/users/{userId}", userId)
+                        .header(ReplicaRoutingContext.CONSISTENCY_TOKEN_HEADER, token))
+                .andExpect(status().isOk());
+        mvc.perform(get("/users/{userId}", userId)
+                        .header(ReplicaRoutingContext.CONSISTENCY_TOKEN_HEADER, "0"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void futureConsistencyTokenIsIgnoredTest() throws Exception {
+        User user = userRepository.save(new User("future", "future@replica.test"));
+        long now = System.currentTimeMillis();
+
+        mvc.perform(get("/users/{userId}", user.getId())
+                        .header(ReplicaRoutingContext.CONSISTENCY_TOKEN_HEADER, String.valueOf(now + 500)))
+                .andExpect(status().isOk());
+        mvc.perform(get("/users/{userId}", user.getId())
+                        .header(ReplicaRoutingContext.CONSISTENCY_TOKEN_HEADER, String.valueOf(now + 3_600_000)))
+                .andExpect(status().isNotFound());
+        mvc.perform(get("/users/{userId}", user.getId())
+                        .header(ReplicaRoutingContext.CONSISTENCY_TOKEN_HEADER, String.valueOf(Long.MAX_VALUE)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void exportKeepsPrimaryRoutingOnStreamingThreadTest() throws Exception {
+        User owner = userRepository.save(new User("owner", "owner@replica.test"));
+        User booker = userRepository.save(new User("booker", "booker@replica.test"));
+        Item item = new Item("drill", "description", true);
+        item.setOwner(owner);
+        itemRepository.save(item);
+        Booking booking = new Booking(LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2));
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStatus(BookingStatus.WAITING);
+        bookingRepository.save(booking);
+
+        ReplicaRoutingContext.forcePrimary();
+        StreamingResponseBody export;
+        try {
+            export = bookingService.exportBookingsOwner(owner.getId(), owner.getId(), LocalDateTime.of(1970, 1, 1, 0, 0));
+        } finally {
+            ReplicaRoutingContext.clear();
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> {
+                export.writeTo(out);
+                return null;
+            }).get();
+        } finally {
+            executor.shutdown();
+        }
+
+        String body = out.toString(StandardCharsets.UTF_8);
+        assertThat(body.lines().count(), is(1L));
+        assertThat(mapper.readTree(body).get("id").asLong(), is(booking.getId()));
+    }
+
+    @Test
+    void indexesAreRebuiltFromPrimaryTest() {
+        User owner = userRepository.save(new User("rebuild", "rebuild@replica.test"));
+        User booker = userRepository.save(new User("rebuild booker", "rebuild.booker@replica.test"));
+        Item item = new Item("Перфоратор", "Перфоратор с патроном SDS", true);
+        item.setOwner(owner);
+        itemRepository.save(item);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking booking = new Booking(start, start.plusDays(1));
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStatus(BookingStatus.APPROVED);
+        bookingRepository.save(booking);
+
+        InMemoryItemSearchEngine searchEngine = new InMemoryItemSearchEngine(itemRepository);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> {
+            suggestIndex.rebuild();
+            availabilityIndex.rebuild();
+            searchEngine.rebuild();
+        });
+
+        assertThat(suggestIndex.suggest("перфор", 10), hasItem("перфоратор"));
+        assertThat(availabilityIndex.getAvailability(item.getId(), start.minusDays(1), start.plusDays(2)).getBusy(),
+                hasSize(1));
+        List<Item> found = new ArrayList<>();
+        ReplicaRoutingContext.runWith(true, () -> found.addAll(searchEngine.search("перфоратор", PageRequest.of(0, 10))));
+        assertThat(found, contains(hasProperty("id", equalTo(item.getId()))));
+    }
+
+    private String database() {
+        return jdbcTemplate.queryForObject("SELECT DATABASE()", String.class);
+    }
+}
@@ -0,0 +1,101 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.request.ItemRequestService;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+@EnabledIfSystemProperty(named = BenchmarkDatabase.URL_PROPERTY, matches = ".+")
+@SpringBootTest(properties = {
+        "spring.datasource.url=${shareit.benchmark.url}",
+        "spring.datasource.username=${shareit.benchmark.username:root}",
+        "spring.datasource.password=${shareit.benchmark.password:root}",
+        "spring.datasource.driver-class-name=",
+        "spring.sql.init.mode=never",
+        "shareit.search.engine=database",
+        "shareit.search.trigram=${shareit.benchmark.trigram:true}"
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ServiceLatencyBenchmarkTest {
+    private static final int USERS = Integer.getInteger("shareit.benchmark.users", 100_000);
+    private static final int ITEMS = Integer.getInteger("shareit.benchmark.items", 1_000_000);
+    private static final int BOOKINGS = Integer.getInteger("shareit.benchmark.bookings", 10_000_000);
+    private static final int ITERATIONS = Integer.getInteger("shareit.benchmark.iterations", 200);
+    private static final int WARMUP = Integer.getInteger("shareit.benchmark.warmup", 50);
+    private static final int SAMPLES = 500;
+    private static final int PAGE_SIZE = 20;
+    private static final String DATASET_OWNER = "JOIN users u ON u.id = i.owner_id " +
+            "WHERE u.email LIKE '%" + DatasetGenerator.EMAIL_DOMAIN + "' ";
+
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final ItemRequestService itemRequestService;
+    private final JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void seedDataset() throws SQLException {
+        try (Connection connection = BenchmarkDatabase.connect()) {
+            BenchmarkDatabase.initSchema(connection);
+            long start = System.nanoTime();
+            if (new DatasetGenerator(USERS, ITEMS, BOOKINGS).seed(connection)) {
+                System.out.printf("seeded %d users, %d items, %d bookings in %ds%n",
+                        USERS, ITEMS, BOOKINGS, (System.nanoTime() - start) / 1_000_000_000);
+            }
+        }
+    }
+
+    @Test
+    void serviceLatencyTest() {
+        List<Long> owners = sample("SELECT i.owner_id FROM items i " + DATASET_OWNER + "AND MOD(i.id, ?) = 0", "items");
+        List<Long> items = sample("SELECT i.id FROM items i " + DATASET_OWNER + "AND MOD(i.id, ?) = 0", "items");
+        List<Long> users = sample("SELECT u.id FROM users u WHERE u.email LIKE '%" + DatasetGenerator.EMAIL_DOMAIN +
+                "' AND MOD(u.id, ?) = 0", "users");
+
+        report("ItemService.getItems", owners, owner -> itemService.getItems(owner, 0, PAGE_SIZE));
+        report("ItemService.getItem", items, item -> itemService.getItem(owner(item), item));
+        report("ItemService.getItemSearch", users, user -> itemService.getItemSearch(user,
+                DatasetGenerator.NAMES[(int) (user % DatasetGenerator.NAMES.length)], 0, PAGE_SIZE));
+        for (BookingState state : BookingState.values()) {
+            report("BookingService.getBookingsOwner " + state, owners,
+                    owner -> bookingService.getBookingsOwner(owner, state.name(), 0, PAGE_SIZE));
+        }
+        report("ItemRequestService.getItemRequests", users,
+                user -> itemRequestService.getItemRequests(user, 0, PAGE_SIZE));
+    }
+
+    private void report(String name, List<Long> ids, LongConsumer call) {
+        for (int i = 0; i < WARMUP; i++) {
+            call.accept(ids.get(i % ids.size()));
+        }
+        long[] nanos = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long id = ids.get(i % ids.size());
+            long start = System.nanoTime();
+            call.accept(id);
+            nanos[i] = System.nanoTime() - start;
+        }
+        System.out.printf("%-45s %s%n", name, BenchmarkDatabase.percentiles(nanos));
+    }
+
+    private List<Long> sample(String sql, String table) {
+        Long rows = jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Long.class);
+        long step = Math.max(1, rows / SAMPLES);
+        return jdbcTemplate.queryForList(sql, Long.class, step);
+    }
+
+    private Long owner(Long itemId) {
+        return jdbcTemplate.queryForObject("SELECT owner_id FROM items WHERE id = ?", Long.class, itemId);
+    }
+}
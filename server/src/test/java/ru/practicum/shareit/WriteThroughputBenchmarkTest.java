@@ -0,0 +1,143 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Properties;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@EnabledIfSystemProperty(named = BenchmarkDatabase.URL_PROPERTY, matches = ".+")
+public class WriteThroughputBenchmarkTest {
+    private static final int ROWS = Integer.getInteger("shareit.benchmark.rows", 10_000);
+    private static final int ROUNDS = Integer.getInteger("shareit.benchmark.rounds", 3);
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final String ITEM_COLUMNS = "name, description, is_available, owner_id";
+    private static final String BOOKING_COLUMNS = "start_date, end_date, item_id, booker_id, status";
+
+    @Test
+    void identityAgainstPooledInsertsTest() throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("reWriteBatchedInserts", "true");
+        try (Connection connection = BenchmarkDatabase.connect(properties)) {
+            BenchmarkDatabase.initSchema(connection);
+            connection.setAutoCommit(false);
+            for (String table : new String[]{"items", "bookings"}) {
+                run(connection, table, false);
+                run(connection, table, true);
+                double identity = 0;
+                double pooled = 0;
+                for (int round = 0; round < ROUNDS; round++) {
+                    identity = Math.max(identity, run(connection, table, false));
+                    pooled = Math.max(pooled, run(connection, table, true));
+                }
+                System.out.printf("insert %d %s%n  identity:  %.0f rows/s%n  pooled-lo: %.0f rows/s%n",
+                        ROWS, table, identity, pooled);
+            }
+        }
+    }
+
+    private double run(Connection connection, String table, boolean pooled) throws SQLException {
+        try {
+            long[] ids = seedOwner(connection);
+            long start = System.nanoTime();
+            int inserted = pooled ? insertPooled(connection, table, ids) : insertIdentity(connection, table, ids);
+            long nanos = System.nanoTime() - start;
+            assertThat(inserted, equalTo(ROWS));
+            return ROWS * 1_000_000_000.0 / nanos;
+        } finally {
+            connection.rollback();
+        }
+    }
+
+    private int insertIdentity(Connection connection, String table, long[] ids) throws SQLException {
+        String sql = "items".equals(table)
+                ? "INSERT INTO items (" + ITEM_COLUMNS + ") VALUES (?, ?, ?, ?)"
+                : "INSERT INTO bookings (" + BOOKING_COLUMNS + ") VALUES (?, ?, ?, ?, ?)";
+        int inserted = 0;
+        try (PreparedStatement statement = connection.prepareStatement(sql, new String[]{"id"})) {
+            for (int i = 0; i < ROWS; i++) {
+                bind(statement, table, ids, i, 1);
+                inserted += statement.executeUpdate();
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    keys.next();
+                    keys.getLong(1);
+                }
+            }
+        }
+        return inserted;
+    }
+
+    private int insertPooled(Connection connection, String table, long[] ids) throws SQLException {
+        String sql = "items".equals(table)
+                ? "INSERT INTO items (id, " + ITEM_COLUMNS + ") VALUES (?, ?, ?, ?, ?)"
+                : "INSERT INTO bookings (id, " + BOOKING_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?)";
+        int inserted = 0;
+        long nextId = 0;
+        long hiValue = 0;
+        try (PreparedStatement sequence = connection.prepareStatement("SELECT nextval('" + table + "_seq')");
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < ROWS; i++) {
+                if (nextId == hiValue) {
+                    try (ResultSet resultSet = sequence.executeQuery()) {
+                        resultSet.next();
+                        nextId = resultSet.getLong(1);
+                        hiValue = nextId + ALLOCATION_SIZE;
+                    }
+                }
+                statement.setLong(1, nextId++);
+                bind(statement, table, ids, i, 2);
+                statement.addBatch();
+                if ((i + 1) % ALLOCATION_SIZE == 0) {
+                    inserted += statement.executeBatch().length;
+                }
+            }
+            if (ROWS % ALLOCATION_SIZE != 0) {
+                inserted += statement.executeBatch().length;
+            }
+        }
+        return inserted;
+    }
+
+    private void bind(PreparedStatement statement, String table, long[] ids, int row, int offset)
+            throws SQLException {
+        if ("items".equals(table)) {
+            statement.setString(offset, "benchmark item " + row);
+            statement.setString(offset + 1, "write benchmark");
+            statement.setBoolean(offset + 2, true);
+            statement.setLong(offset + 3, ids[0]);
+        } else {
+            LocalDateTime start = LocalDateTime.now().plusDays(1).plusHours(row);
+            statement.setTimestamp(offset, Timestamp.valueOf(start));
+            statement.setTimestamp(offset + 1, Timestamp.valueOf(start.plusMinutes(30)));
+            statement.setLong(offset + 2, ids[1]);
+            statement.setLong(offset + 3, ids[0]);
+            statement.setString(offset + 4, "WAITING");
+        }
+    }
+
+    private long[] seedOwner(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            long userId;
+            try (ResultSet resultSet = statement.executeQuery("INSERT INTO users (name, email) " +
+                    "VALUES ('benchmark', 'write-benchmark@shareit.local') RETURNING id")) {
+                resultSet.next();
+                userId = resultSet.getLong(1);
+            }
+            try (ResultSet resultSet = statement.executeQuery("INSERT INTO items (" + ITEM_COLUMNS + ") " +
+                    "VALUES ('benchmark', 'write benchmark', true, " + userId + ") RETURNING id")) {
+                resultSet.next();
+                return new long[]{userId, resultSet.getLong(1)};
+            }
+        }
+    }
+}